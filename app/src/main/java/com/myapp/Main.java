@@ -1,5 +1,9 @@
 package com.myapp;
 
+import com.myapp.config.DatabaseConfig;
+import com.myapp.metrics.Metrics;
+import com.myapp.services.AuthServiceImpl;
+
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
@@ -9,10 +13,19 @@ import javafx.stage.Stage;
 
 import java.net.URL;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 public class Main extends Application {
 
+    private static final Logger LOG = LoggerFactory.getLogger(Main.class);
+
+    private static final long METRICS_REPORT_INTERVAL_SECONDS = 300;
+
     @Override
     public void start(Stage primaryStage) {
+        AuthServiceImpl.calibrateInBackground();
+        Metrics.start(METRICS_REPORT_INTERVAL_SECONDS);
         try {
             // Load the FXML file
             URL fxmlUrl = getClass().getResource("/views/login.fxml");
@@ -38,14 +51,15 @@ public class Main extends Application {
             
             // Handle window close request
             primaryStage.setOnCloseRequest(e -> {
+                Metrics.stop();
+                DatabaseConfig.shutdown();
                 Platform.exit();
                 System.exit(0);
             });
             
             primaryStage.show();
         } catch (Exception e) {
-            System.err.println("Error starting application: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error starting application", e);
             Platform.exit();
         }
     }
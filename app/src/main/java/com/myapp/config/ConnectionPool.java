@@ -0,0 +1,579 @@
+package com.myapp.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.myapp.metrics.Counter;
+import com.myapp.metrics.Metrics;
+import com.myapp.metrics.Timer;
+
+/**
+ * Bounded JDBC connection pool handed out by {@link DatabaseConfig}.
+ * Callers keep using try-with-resources: closing a pooled connection returns
+ * the physical connection to the pool instead of closing the socket.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConnectionPool.class);
+
+    private static final int WAIT_SAMPLES = 1024;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long VALIDATE_AFTER_IDLE_MS = 5_000;
+    // -Ddb.pool.traceLeaks=true records the stack of every borrow so leak warnings show where the
+    // connection was taken; off by default because filling in a stack trace costs more than the borrow
+    private static final boolean TRACE_LEAKS = Boolean.getBoolean("db.pool.traceLeaks");
+    // Statement counters are kept per DAO method; anything past this many names shares one entry
+    private static final int MAX_STATEMENT_COUNTERS = 256;
+    private static final String UNATTRIBUTED = "(unattributed)";
+    private static final String OTHER = "(other)";
+
+    private static final Timer ACQUIRE_TIMER = Metrics.timer("db.connectionAcquire");
+    private static final Counter QUERIES = Metrics.counter("db.queries");
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long acquireTimeoutMs;
+    private final long idleTimeoutMs;
+    private final long leakThresholdMs;
+    private final int statementCacheSize;
+
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong leaks = new AtomicLong();
+    private final long[] waitSamplesNanos = new long[WAIT_SAMPLES];
+    private final AtomicLong waitSampleCount = new AtomicLong();
+    private final Map<String, StatementCounter> statementCounters = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    public ConnectionPool(String url, String username, String password,
+                          int minSize, int maxSize, long acquireTimeoutMs,
+                          long idleTimeoutMs, long leakThresholdMs, int statementCacheSize) {
+        if (minSize < 0 || maxSize <= 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.leakThresholdMs = leakThresholdMs;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1_000, Math.min(idleTimeoutMs, leakThresholdMs) / 2);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        long start = System.nanoTime();
+        waiting.incrementAndGet();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                timeouts.incrementAndGet();
+                throw new SQLTransientConnectionException(
+                    "Timed out after " + acquireTimeoutMs + " ms waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+
+        try {
+            PooledConnection pc = takeIdle();
+            if (pc == null) {
+                pc = open();
+            }
+            pc.borrowedAt = System.currentTimeMillis();
+            pc.borrowSite = TRACE_LEAKS && leakThresholdMs > 0 ? new Throwable("Connection borrowed here") : null;
+            borrowed.add(pc);
+            acquired.incrementAndGet();
+            recordWait(System.nanoTime() - start);
+            return pc.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledConnection takeIdle() {
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) {
+            if (System.currentTimeMillis() - pc.lastUsedAt < VALIDATE_AFTER_IDLE_MS || isAlive(pc)) {
+                return pc;
+            }
+            discard(pc);
+        }
+        return null;
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, username, password);
+        total.incrementAndGet();
+        created.incrementAndGet();
+        return new PooledConnection(physical);
+    }
+
+    private boolean isAlive(PooledConnection pc) {
+        try {
+            return pc.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(PooledConnection pc) {
+        borrowed.remove(pc);
+        try {
+            pc.reclaimStatements();
+            boolean healthy = !closed && !pc.broken && !pc.physical.isClosed();
+            if (healthy && !pc.physical.getAutoCommit()) {
+                // A DAO that failed mid-transaction never committed; do not leak its work to the next borrower
+                pc.physical.rollback();
+                pc.physical.setAutoCommit(true);
+            }
+            if (healthy) {
+                pc.lastUsedAt = System.currentTimeMillis();
+                idle.offerFirst(pc);
+            } else {
+                discard(pc);
+            }
+        } catch (SQLException e) {
+            discard(pc);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledConnection pc) {
+        total.decrementAndGet();
+        pc.dropStatements();
+        try {
+            pc.physical.close();
+        } catch (SQLException ignore) {
+            // already unusable
+        }
+    }
+
+    private void housekeep() {
+        if (closed) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+
+        // Evict connections idle for too long, keeping at least minSize around
+        Iterator<PooledConnection> it = idle.descendingIterator();
+        while (it.hasNext() && total.get() > minSize) {
+            PooledConnection pc = it.next();
+            if (now - pc.lastUsedAt > idleTimeoutMs && idle.remove(pc)) {
+                discard(pc);
+            }
+        }
+
+        // Top up to minSize so the first requests after a quiet period skip the handshake
+        while (total.get() < minSize && !closed) {
+            try {
+                PooledConnection pc = open();
+                pc.lastUsedAt = now;
+                idle.offerLast(pc);
+            } catch (SQLException e) {
+                LOG.warn("Connection pool could not open connection: {}", e.getMessage());
+                break;
+            }
+        }
+
+        if (leakThresholdMs > 0) {
+            for (PooledConnection pc : borrowed) {
+                if (!pc.leakReported && now - pc.borrowedAt > leakThresholdMs) {
+                    pc.leakReported = true;
+                    leaks.incrementAndGet();
+                    if (pc.borrowSite != null) {
+                        LOG.warn("Possible connection leak: connection held for {} ms", now - pc.borrowedAt, pc.borrowSite);
+                    } else {
+                        LOG.warn("Possible connection leak: connection held for {} ms "
+                            + "(run with -Ddb.pool.traceLeaks=true to log where it was borrowed)", now - pc.borrowedAt);
+                    }
+                }
+            }
+        }
+    }
+
+    private void recordWait(long nanos) {
+        ACQUIRE_TIMER.record(nanos, false);
+        long n = waitSampleCount.getAndIncrement();
+        waitSamplesNanos[(int) (n % WAIT_SAMPLES)] = nanos;
+    }
+
+    public PoolStats getStats() {
+        int samples = (int) Math.min(waitSampleCount.get(), WAIT_SAMPLES);
+        long[] sorted = Arrays.copyOf(waitSamplesNanos, samples);
+        Arrays.sort(sorted);
+        return new PoolStats(
+            borrowed.size(),
+            idle.size(),
+            total.get(),
+            waiting.get(),
+            acquired.get(),
+            created.get(),
+            timeouts.get(),
+            leaks.get(),
+            percentileMicros(sorted, 0.50),
+            percentileMicros(sorted, 0.95),
+            percentileMicros(sorted, 0.99));
+    }
+
+    private static long percentileMicros(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return TimeUnit.NANOSECONDS.toMicros(sorted[Math.max(0, index)]);
+    }
+
+    /**
+     * Prepare calls per DAO method (see {@link Metrics#currentOperation}):
+     * how many created a statement and how many were served from a
+     * connection's statement cache. Statements prepared outside an
+     * instrumented call are counted under {@value #UNATTRIBUTED}.
+     */
+    public Map<String, StatementStats> getStatementStats() {
+        Map<String, StatementStats> stats = new TreeMap<>();
+        statementCounters.forEach((sql, c) -> stats.put(sql, new StatementStats(c.prepared.sum(), c.reused.sum())));
+        return stats;
+    }
+
+    public record StatementStats(long prepared, long reused) {
+    }
+
+    private StatementCounter statementCounter() {
+        String operation = Metrics.currentOperation();
+        String key = operation == null ? UNATTRIBUTED : operation;
+        StatementCounter counter = statementCounters.get(key);
+        if (counter != null) {
+            return counter;
+        }
+        // Operation names are a fixed set in practice; the cap only guards against misuse
+        if (statementCounters.size() >= MAX_STATEMENT_COUNTERS) {
+            key = OTHER;
+        }
+        return statementCounters.computeIfAbsent(key, k -> new StatementCounter());
+    }
+
+    private static final class StatementCounter {
+        private final LongAdder prepared = new LongAdder();
+        private final LongAdder reused = new LongAdder();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) {
+            discard(pc);
+        }
+    }
+
+    /**
+     * Point-in-time view of the pool for monitoring. Wait times are computed
+     * over the most recent acquisitions.
+     */
+    public record PoolStats(int active, int idle, int total, int waiting,
+                            long acquired, long created, long timeouts, long leaks,
+                            long waitP50Micros, long waitP95Micros, long waitP99Micros) {
+    }
+
+    private final class PooledConnection {
+        private final Connection physical;
+        private volatile long lastUsedAt = System.currentTimeMillis();
+        private volatile long borrowedAt;
+        private volatile Throwable borrowSite;
+        private volatile boolean leakReported;
+        private volatile boolean broken;
+
+        // Access-ordered so the least recently used statement is evicted first
+        private final LinkedHashMap<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        private PreparedStatement prepare(Connection handle, String sql, int autoGeneratedKeys) throws SQLException {
+            StatementCounter counter = statementCounter();
+            String key = autoGeneratedKeys + "|" + sql;
+            synchronized (statements) {
+                CachedStatement cached = statements.get(key);
+                if (cached != null && !cached.inUse) {
+                    cached.inUse = true;
+                    counter.reused.increment();
+                    return cached.newHandle(handle);
+                }
+            }
+
+            PreparedStatement ps = physical.prepareStatement(sql, autoGeneratedKeys);
+            counter.prepared.increment();
+            if (statementCacheSize <= 0) {
+                return ps;
+            }
+            CachedStatement cached = new CachedStatement(this, ps);
+            cached.inUse = true;
+            synchronized (statements) {
+                // Same SQL already cached but busy (e.g. nested use): keep the new one uncached
+                if (statements.containsKey(key)) {
+                    cached.evicted = true;
+                } else {
+                    statements.put(key, cached);
+                    evictOverflow();
+                }
+            }
+            return cached.newHandle(handle);
+        }
+
+        private void evictOverflow() {
+            Iterator<CachedStatement> it = statements.values().iterator();
+            while (statements.size() > statementCacheSize && it.hasNext()) {
+                CachedStatement eldest = it.next();
+                it.remove();
+                eldest.evicted = true;
+                if (!eldest.inUse) {
+                    eldest.closeQuietly();
+                }
+            }
+        }
+
+        // Statements the borrower forgot to close cannot be handed to the next borrower
+        private void reclaimStatements() {
+            synchronized (statements) {
+                Iterator<CachedStatement> it = statements.values().iterator();
+                while (it.hasNext()) {
+                    CachedStatement cached = it.next();
+                    if (cached.inUse) {
+                        it.remove();
+                        cached.evicted = true;
+                        cached.closeQuietly();
+                    }
+                }
+            }
+        }
+
+        private void dropStatements() {
+            synchronized (statements) {
+                statements.values().forEach(CachedStatement::closeQuietly);
+                statements.clear();
+            }
+        }
+
+        private Connection newHandle() {
+            leakReported = false;
+            return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                new Handle(this));
+        }
+    }
+
+    // One handle per borrow, so a stale reference cannot touch the next borrower's session
+    private final class Handle implements InvocationHandler {
+        private final PooledConnection pc;
+        private boolean released;
+
+        private Handle(PooledConnection pc) {
+            this.pc = pc;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        release(pc);
+                    }
+                    return null;
+                case "isClosed":
+                    return released || pc.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled" + pc.physical;
+                default:
+                    break;
+            }
+            if (released) {
+                throw new SQLException("Connection has been returned to the pool");
+            }
+            if ("prepareStatement".equals(method.getName())) {
+                Class<?>[] types = method.getParameterTypes();
+                if (types.length == 1) {
+                    return pc.prepare((Connection) proxy, (String) args[0], Statement.NO_GENERATED_KEYS);
+                }
+                // prepareStatement(String, int autoGeneratedKeys); the other two-arg overloads take arrays
+                if (types.length == 2 && types[1] == int.class) {
+                    return pc.prepare((Connection) proxy, (String) args[0], (Integer) args[1]);
+                }
+            }
+            try {
+                return method.invoke(pc.physical, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException sql && isFatal(sql)) {
+                    pc.broken = true;
+                }
+                throw cause;
+            }
+        }
+    }
+
+    private final class CachedStatement {
+        private final PooledConnection owner;
+        private final PreparedStatement physical;
+        private boolean inUse;
+        private boolean evicted;
+
+        private CachedStatement(PooledConnection owner, PreparedStatement physical) {
+            this.owner = owner;
+            this.physical = physical;
+        }
+
+        private PreparedStatement newHandle(Connection connectionHandle) {
+            return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class},
+                new StatementHandle(this, connectionHandle));
+        }
+
+        private void giveBack() {
+            synchronized (owner.statements) {
+                if (evicted) {
+                    closeQuietly();
+                    return;
+                }
+                try {
+                    physical.clearParameters();
+                    physical.clearBatch();
+                    inUse = false;
+                } catch (SQLException e) {
+                    owner.statements.values().remove(this);
+                    closeQuietly();
+                }
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                physical.close();
+            } catch (SQLException ignore) {
+                // connection may already be gone
+            }
+        }
+    }
+
+    // Logical statement: close() returns the physical statement to its connection's cache
+    private final class StatementHandle implements InvocationHandler {
+        private final CachedStatement cached;
+        private final Connection connectionHandle;
+        private boolean released;
+
+        private StatementHandle(CachedStatement cached, Connection connectionHandle) {
+            this.cached = cached;
+            this.connectionHandle = connectionHandle;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        cached.giveBack();
+                    }
+                    return null;
+                case "isClosed":
+                    return released || cached.physical.isClosed();
+                case "getConnection":
+                    return connectionHandle;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached" + cached.physical;
+                default:
+                    break;
+            }
+            if (released) {
+                throw new SQLException("Statement is closed");
+            }
+            if (method.getName().startsWith("execute")) {
+                QUERIES.increment();
+            }
+            try {
+                return method.invoke(cached.physical, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException sql && isFatal(sql)) {
+                    cached.owner.broken = true;
+                }
+                throw cause;
+            }
+        }
+    }
+
+    // SQLState class 08 is "connection exception"
+    private static boolean isFatal(SQLException e) {
+        String state = e.getSQLState();
+        return state != null && state.startsWith("08");
+    }
+}
@@ -0,0 +1,79 @@
+package com.myapp.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import com.myapp.metrics.Metrics;
+
+public class DatabaseConfig {
+
+    private static final String DEFAULT_URL = "jdbc:mysql://localhost:3306/recipes_db?useSSL=false&serverTimezone=UTC"
+        + "&rewriteBatchedStatements=true"
+        // Statements are reused through the pool's per-connection cache, so server-side prepares pay off;
+        // the DAOs keep the set of SQL texts small (IN-lists are padded to a few fixed lengths)
+        + "&useServerPrepStmts=true";
+
+    // -Ddb.url / -Ddb.user / -Ddb.password let tools such as the benchmarks point at another database
+    private static final String URL = System.getProperty("db.url", DEFAULT_URL);
+    private static final String USERNAME = System.getProperty("db.user", "root");
+    private static final String PASSWORD = System.getProperty("db.password", "p@ssw0rd");
+
+    // Pool sizing; the desktop app rarely needs more than a handful of concurrent connections
+    private static final int POOL_MIN_SIZE = 2;
+    private static final int POOL_MAX_SIZE = 10;
+    private static final long ACQUIRE_TIMEOUT_MS = 10_000;
+    private static final long IDLE_TIMEOUT_MS = 5 * 60_000;
+    private static final long LEAK_THRESHOLD_MS = 60_000;
+    private static final int STATEMENT_CACHE_SIZE = 64;
+
+    private static volatile ConnectionPool pool;
+
+    public static Connection getConnection() throws SQLException {
+        return getPool().getConnection();
+    }
+
+    public static int getMaxPoolSize() {
+        return POOL_MAX_SIZE;
+    }
+
+    public static long getAcquireTimeoutMillis() {
+        return ACQUIRE_TIMEOUT_MS;
+    }
+
+    public static ConnectionPool.PoolStats getPoolStats() {
+        return getPool().getStats();
+    }
+
+    public static Map<String, ConnectionPool.StatementStats> getStatementStats() {
+        return getPool().getStatementStats();
+    }
+
+    public static ConnectionPool getPool() {
+        ConnectionPool p = pool;
+        if (p == null) {
+            synchronized (DatabaseConfig.class) {
+                p = pool;
+                if (p == null) {
+                    p = new ConnectionPool(URL, USERNAME, PASSWORD, POOL_MIN_SIZE, POOL_MAX_SIZE,
+                        ACQUIRE_TIMEOUT_MS, IDLE_TIMEOUT_MS, LEAK_THRESHOLD_MS, STATEMENT_CACHE_SIZE);
+                    pool = p;
+                    ConnectionPool created = p;
+                    Metrics.gauge("db.pool.active", () -> created.getStats().active());
+                    Metrics.gauge("db.pool.idle", () -> created.getStats().idle());
+                    Metrics.gauge("db.pool.waiting", () -> created.getStats().waiting());
+                }
+            }
+        }
+        return p;
+    }
+
+    public static void shutdown() {
+        synchronized (DatabaseConfig.class) {
+            if (pool != null) {
+                pool.close();
+                pool = null;
+            }
+        }
+    }
+}
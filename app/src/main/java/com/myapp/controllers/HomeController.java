@@ -11,7 +11,12 @@ import javafx.stage.Stage;
 import java.io.IOException;
 import java.net.URL;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 public class HomeController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HomeController.class);
     
     @FXML
     public void handleGetStarted(ActionEvent event) {
@@ -36,7 +41,7 @@ public class HomeController {
             
         } catch (IOException e) {
             showError("Error", "Failed to load recipe list: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Failed to load recipe list", e);
         }
     }
     
@@ -1,19 +1,23 @@
 package com.myapp.controllers;
 
 import java.net.URL;
+import java.util.concurrent.CompletionException;
 
-import com.myapp.models.User;
+import com.myapp.metrics.Metrics;
 import com.myapp.services.AuthService;
 import com.myapp.services.AuthServiceImpl;
 import com.myapp.services.SessionManager;
 
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
 import javafx.scene.control.PasswordField;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
 
@@ -21,27 +25,52 @@ public class LoginController {
 
     @FXML private TextField emailField;
     @FXML private PasswordField passwordField;
+    @FXML private Button loginButton;
+    @FXML private ProgressIndicator progressIndicator;
 
-    private final AuthService authService = new AuthServiceImpl();
+    private final AuthService authService = Metrics.instrument(AuthService.class, new AuthServiceImpl());
+    private boolean loginInFlight;
 
     @FXML
     public void handleLogin(ActionEvent event) {
-        try {
-            String email = emailField.getText();
-            String password = passwordField.getText();
-            if (email == null || email.isBlank() || password == null || password.isBlank()) {
-                showError("Missing info", "Please enter both email and password.");
+        if (loginInFlight) {
+            // Already checking; ignore repeated clicks/Enter presses
+            return;
+        }
+        String email = emailField.getText();
+        String password = passwordField.getText();
+        if (email == null || email.isBlank() || password == null || password.isBlank()) {
+            showError("Missing info", "Please enter both email and password.");
+            return;
+        }
+        setBusy(true);
+        authService.loginAsync(email, password).whenComplete((user, error) -> Platform.runLater(() -> {
+            setBusy(false);
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                showError("Error", "Failed to login: " + cause.getMessage());
                 return;
             }
-            User user = authService.login(email, password);
             if (user != null) {
                 SessionManager.setCurrentUser(user);
-                navigateToHome(event);
+                try {
+                    navigateToHome(event);
+                } catch (Exception e) {
+                    showError("Error", "Failed to login: " + e.getMessage());
+                }
             } else {
                 showError("Login failed", "Invalid email or password");
             }
-        } catch (Exception e) {
-            showError("Error", "Failed to login: " + e.getMessage());
+        }));
+    }
+
+    private void setBusy(boolean busy) {
+        loginInFlight = busy;
+        if (loginButton != null) {
+            loginButton.setDisable(busy);
+        }
+        if (progressIndicator != null) {
+            progressIndicator.setVisible(busy);
         }
     }
 
@@ -1,12 +1,15 @@
 package com.myapp.controllers;
 
 import java.net.URL;
+import java.util.concurrent.CompletionException;
 
+import com.myapp.metrics.Metrics;
 import com.myapp.models.Ingredient;
 import com.myapp.models.Recipe;
 import com.myapp.services.RecipeService;
 import com.myapp.services.RecipeServiceImpl;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -31,12 +34,27 @@ public class RecipeDetailController {
     @FXML private Button deleteButton;
     @FXML private Button backButton;
 
-    private final RecipeService recipeService = new RecipeServiceImpl();
+    private final RecipeService recipeService = Metrics.instrument(RecipeService.class, new RecipeServiceImpl());
     private Recipe recipe;
 
     public void setRecipe(Recipe recipe) {
         this.recipe = recipe;
         populateDetails();
+        // Saving a summary would drop its ingredients and instructions, so editing waits for them
+        editButton.setDisable(true);
+        // The list passes header-only summaries; show the header now and fill in the rest when it arrives
+        recipeService.loadDetailsAsync(recipe).whenComplete((loaded, error) -> Platform.runLater(() -> {
+            if (this.recipe != recipe) {
+                return;
+            }
+            if (error != null) {
+                showError("Failed to load recipe details: " + unwrap(error).getMessage());
+                return;
+            }
+            this.recipe = loaded;
+            populateDetails();
+            editButton.setDisable(false);
+        }));
     }
 
     private void populateDetails() {
@@ -185,7 +203,6 @@ public class RecipeDetailController {
                         }
                         recipe.setInstructions(parsedInstructions);
 
-                        recipeService.saveRecipe(recipe);
                         return recipe;
                     } catch (NumberFormatException e) {
                         showError("Preparation time, cooking time and servings must be numbers.");
@@ -194,14 +211,19 @@ public class RecipeDetailController {
                 return null;
             });
 
-            dialog.showAndWait().ifPresent(updated -> {
-                populateDetails();
-                Alert info = new Alert(Alert.AlertType.INFORMATION);
-                info.setTitle("Recipe Updated");
-                info.setHeaderText(null);
-                info.setContentText("Recipe details were updated.");
-                info.showAndWait();
-            });
+            dialog.showAndWait().ifPresent(updated -> recipeService.saveRecipeAsync(updated)
+                .whenComplete((saved, error) -> Platform.runLater(() -> {
+                    if (error != null) {
+                        showError("Failed to save: " + unwrap(error).getMessage());
+                        return;
+                    }
+                    populateDetails();
+                    Alert info = new Alert(Alert.AlertType.INFORMATION);
+                    info.setTitle("Recipe Updated");
+                    info.setHeaderText(null);
+                    info.setContentText("Recipe details were updated.");
+                    info.showAndWait();
+                })));
         } catch (Exception e) {
             showError("Failed to edit: " + e.getMessage());
         }
@@ -211,8 +233,19 @@ public class RecipeDetailController {
     private void handleDelete() {
         try {
             if (recipe != null && recipe.getId() != null) {
-                recipeService.deleteRecipe(recipe.getId());
-                navigateToList();
+                deleteButton.setDisable(true);
+                recipeService.deleteRecipeAsync(recipe.getId()).whenComplete((done, error) -> Platform.runLater(() -> {
+                    if (error != null) {
+                        deleteButton.setDisable(false);
+                        showError("Failed to delete: " + unwrap(error).getMessage());
+                        return;
+                    }
+                    try {
+                        navigateToList();
+                    } catch (Exception e) {
+                        showError("Failed to go back: " + e.getMessage());
+                    }
+                }));
             }
         } catch (Exception e) {
             showError("Failed to delete: " + e.getMessage());
@@ -245,6 +278,10 @@ public class RecipeDetailController {
 
     // removed navigateToListAndEdit: editing is now handled inline on this page
 
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
     private void showError(String content) {
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle("Error");
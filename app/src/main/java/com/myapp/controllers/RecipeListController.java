@@ -1,15 +1,31 @@
 package com.myapp.controllers;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
 
+import com.myapp.dao.RecipeSort;
+import com.myapp.metrics.Metrics;
 import com.myapp.models.Ingredient;
 import com.myapp.models.Recipe;
+import com.myapp.models.SymbolTable;
 import com.myapp.services.RecipeService;
 import com.myapp.services.RecipeServiceImpl;
 import com.myapp.services.SessionManager;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javafx.animation.PauseTransition;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
@@ -27,8 +43,15 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 public class RecipeListController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RecipeListController.class);
+
+    private static final int PAGE_SIZE = 100;
+    private static final Duration SEARCH_DEBOUNCE = Duration.millis(250);
+
     @FXML private VBox root;
     @FXML private TableView<Recipe> recipeTable;
     @FXML private TableColumn<Recipe, String> titleColumn;
@@ -40,6 +63,7 @@ public class RecipeListController {
     @FXML private Button addButton;
     @FXML private Button viewButton;
     @FXML private Button closeButton;
+    @FXML private Label resultLimitLabel;
     
     @FXML
     private void handleLogout() {
@@ -72,8 +96,31 @@ public class RecipeListController {
         }
     }
 
+    // Master list (loaded pages or the current search result) behind a category filter and the table's sort
     private final ObservableList<Recipe> recipeList = FXCollections.observableArrayList();
-    private final RecipeService recipeService = new RecipeServiceImpl();
+    private final FilteredList<Recipe> filteredRecipes = new FilteredList<>(recipeList);
+    private final SortedList<Recipe> sortedRecipes = new SortedList<>(filteredRecipes);
+    private final RecipeService recipeService = Metrics.instrument(RecipeService.class, new RecipeServiceImpl());
+
+    // Keyset paging state for the unfiltered list; filtered views are loaded in one go
+    private boolean pagingActive;
+    private boolean lastPageReached;
+    private boolean pageLoadScheduled;
+    private boolean pageLoading;
+    // Bumped whenever paging restarts, so a page requested for an older list is dropped
+    private long pagingGeneration;
+    // Server-side order of the pages, taken from the table's first sort column when paging restarts
+    private RecipeSort pageSort = RecipeSort.ID;
+    private boolean pageDescending;
+
+    private final PauseTransition searchDebounce = new PauseTransition(SEARCH_DEBOUNCE);
+    // Bumped for every new search or paging restart, so only the latest search result is shown
+    private long searchGeneration;
+    // Search of the current generation; cancelled when a newer one starts so it frees its permit
+    private CompletableFuture<List<Recipe>> runningSearch;
+    // Query whose complete results are in recipeList; null while paging the catalogue
+    private String resultQuery;
+    private String appliedCategory;
 
     @FXML
     public void initialize() {
@@ -81,6 +128,11 @@ public class RecipeListController {
         setupEventHandlers();
         loadRecipesFromService();
         populateCategoryFilter();
+        recipeService.prepareSearchAsync().exceptionally(error -> {
+            // Searches still work, just from the database or a lazily built index
+            LOG.warn("Failed to warm the search index", unwrap(error));
+            return null;
+        });
     }
 
     private void setupTable() {
@@ -88,6 +140,18 @@ public class RecipeListController {
         categoryColumn.setCellValueFactory(new PropertyValueFactory<>("category"));
         prepTimeColumn.setCellValueFactory(new PropertyValueFactory<>("preparationTime"));
         cookTimeColumn.setCellValueFactory(new PropertyValueFactory<>("cookingTime"));
+        // Items are set once; filtering and sorting only send changes through these views
+        recipeTable.setItems(sortedRecipes);
+        // Pages come sorted from the database, so a new order restarts paging from the first page in
+        // that order; a complete search result is sorted in memory
+        recipeTable.setSortPolicy(table -> {
+            if (pagingActive) {
+                loadRecipesFromService();
+            } else {
+                sortedRecipes.setComparator(table.getComparator());
+            }
+            return true;
+        });
         
 
         recipeTable.getSelectionModel().selectedItemProperty().addListener(
@@ -99,6 +163,12 @@ public class RecipeListController {
         // Open details on double click
         recipeTable.setRowFactory(table -> {
             javafx.scene.control.TableRow<Recipe> row = new javafx.scene.control.TableRow<>();
+            // Rows are virtualized, so a row near the end being laid out means the user scrolled there
+            row.indexProperty().addListener((obs, oldIndex, newIndex) -> {
+                if (newIndex.intValue() >= sortedRecipes.size() - PAGE_SIZE / 4) {
+                    scheduleNextPage();
+                }
+            });
             row.setOnMouseClicked(event -> {
                 if (!row.isEmpty() && event.getClickCount() == 2) {
                     Recipe selected = row.getItem();
@@ -123,11 +193,7 @@ public class RecipeListController {
     
     @FXML
     private void handleSearch(ActionEvent event) {
-        System.out.println("=== SEARCH BUTTON CLICKED ===");
-        String searchText = searchField.getText();
-        System.out.println("Search field text: '" + searchText + "'");
-        System.out.println("Search field is null: " + (searchField == null));
-        System.out.println("Search field text is null: " + (searchText == null));
+        LOG.debug("Search button clicked, text='{}'", searchField.getText());
         filterRecipes();
     }
     
@@ -147,38 +213,37 @@ public class RecipeListController {
             
             if (stage != null) {
                 stage.close();
-                System.out.println("Window closed successfully");
+                LOG.debug("Recipe list window closed");
             } else {
-                System.err.println("Could not find stage to close");
+                LOG.warn("Could not find stage to close");
             }
         } catch (Exception e) {
-            System.err.println("Error closing window: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error closing window", e);
         }
     }
     
     private void setupEventHandlers() {
+        // Wait for a pause in typing instead of searching on every keystroke
+        searchDebounce.setOnFinished(e -> filterRecipes());
         searchField.textProperty().addListener((obs, oldVal, newVal) -> {
-            System.out.println("Search text changed: " + newVal);
-            filterRecipes();
+            LOG.trace("Search text changed: '{}'", newVal);
+            searchDebounce.playFromStart();
         });
         
         categoryFilter.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> {
-            System.out.println("Category changed: " + newVal);
-            filterRecipes();
+            LOG.debug("Category changed: '{}'", newVal);
+            applyCategoryFilter(newVal);
         });
     }
 
     private void populateCategoryFilter() {
-        try {
-            List<Recipe> recipes = recipeService.getAllRecipes();
-            List<String> categories = recipes.stream()
-                    .map(Recipe::getCategory)
-                    .filter(category -> category != null && !category.trim().isEmpty())
-                    .distinct()
-                    .sorted()
-                    .collect(java.util.stream.Collectors.toList());
-            
+        recipeService.getCategoriesAsync().whenComplete((loaded, error) -> javafx.application.Platform.runLater(() -> {
+            if (error != null) {
+                LOG.warn("Failed to populate categories", unwrap(error));
+                return;
+            }
+            List<String> categories = new java.util.ArrayList<>(loaded);
+
             // Ensure commonly used categories exist (only 'Dessert')
             if (!categories.stream().anyMatch(c -> c.equalsIgnoreCase("Dessert"))) {
                 categories.add("Dessert");
@@ -191,74 +256,233 @@ public class RecipeListController {
             categoryFilter.setItems(FXCollections.observableArrayList(categories));
             // Default selection to All
             categoryFilter.getSelectionModel().selectFirst();
-        } catch (Exception e) {
-            System.err.println("Failed to populate categories: " + e.getMessage());
-        }
+        }));
     }
 
     private void loadRecipesFromService() {
+        searchGeneration++;
+        cancelRunningSearch();
         try {
-            List<Recipe> recipes = recipeService.getAllRecipes();
-            recipeList.setAll(recipes);
-            recipeTable.setItems(recipeList);
+            pagingActive = true;
+            lastPageReached = false;
+            pageLoading = false;
+            pagingGeneration++;
+            resultQuery = null;
+            applyTableSortToPages();
+            recipeList.clear();
+            showResultLimit(false);
+            loadNextPage();
         } catch (Exception e) {
             showAlert("Error", "Failed to load recipes: " + e.getMessage());
         }
     }
 
+    private void scheduleNextPage() {
+        if (!pagingActive || lastPageReached || pageLoadScheduled) {
+            return;
+        }
+        pageLoadScheduled = true;
+        // Defer so the table is not mutated while it is laying out rows
+        javafx.application.Platform.runLater(() -> {
+            pageLoadScheduled = false;
+            try {
+                loadNextPage();
+            } catch (Exception e) {
+                showAlert("Error", "Failed to load recipes: " + e.getMessage());
+            }
+        });
+    }
+
+    private void loadNextPage() {
+        if (!pagingActive || lastPageReached || pageLoading) {
+            return;
+        }
+        Recipe after = recipeList.isEmpty() ? null : recipeList.get(recipeList.size() - 1);
+        long generation = pagingGeneration;
+        pageLoading = true;
+        recipeService.getRecipeSummaryPageAsync(pageSort, pageDescending, after, PAGE_SIZE)
+            .whenComplete((page, error) -> javafx.application.Platform.runLater(() -> {
+                if (generation != pagingGeneration || !pagingActive) {
+                    return;
+                }
+                pageLoading = false;
+                if (error != null) {
+                    showAlert("Error", "Failed to load recipes: " + unwrap(error).getMessage());
+                    return;
+                }
+                if (page.size() < PAGE_SIZE) {
+                    lastPageReached = true;
+                }
+                recipeList.addAll(page);
+                scheduleNextPageIfShort();
+            }));
+    }
+
+    private void applyTableSortToPages() {
+        List<TableColumn<Recipe, ?>> sortOrder = recipeTable.getSortOrder();
+        TableColumn<Recipe, ?> column = sortOrder.isEmpty() ? null : sortOrder.get(0);
+        if (column == titleColumn) {
+            pageSort = RecipeSort.TITLE;
+        } else if (column == categoryColumn) {
+            pageSort = RecipeSort.CATEGORY;
+        } else if (column == prepTimeColumn) {
+            pageSort = RecipeSort.PREPARATION_TIME;
+        } else if (column == cookTimeColumn) {
+            pageSort = RecipeSort.COOKING_TIME;
+        } else {
+            pageSort = RecipeSort.ID;
+        }
+        pageDescending = column != null && column.getSortType() == TableColumn.SortType.DESCENDING;
+        // Rows stay in the order the pages arrive in
+        sortedRecipes.setComparator(null);
+    }
+
+    // With a category filter a page can contribute few visible rows; keep loading until the view is filled
+    private void scheduleNextPageIfShort() {
+        if (sortedRecipes.size() < PAGE_SIZE) {
+            scheduleNextPage();
+        }
+    }
+
     private void filterRecipes() {
+        searchDebounce.stop();
         String query = searchField != null ? searchField.getText() : null;
         String category = categoryFilter != null ? categoryFilter.getSelectionModel().getSelectedItem() : null;
 
-        System.out.println("=== FILTER RECIPES START ===");
-        System.out.println("Query: '" + query + "'");
-        System.out.println("Category: '" + category + "'");
-        System.out.println("Query empty: " + (query == null || query.trim().isEmpty()));
+        LOG.debug("Filtering recipes: query='{}', category='{}'", query, category);
 
-        try {
-            // Use service-level search (title startsWith, others contain)
-            List<Recipe> filtered = recipeService.searchRecipes(query == null ? "" : query.trim());
-            System.out.println("After service search: " + filtered.size() + " recipes");
-
-            // Apply category filter if a specific category is selected (not All)
-            if (category != null && !category.trim().isEmpty() && !category.equalsIgnoreCase("All")) {
-                String lowerCaseCategory = category.toLowerCase().trim();
-                System.out.println("Applying category filter for: '" + lowerCaseCategory + "'");
-                filtered = filtered.stream()
-                        .filter(recipe ->
-                                recipe != null &&
-                                recipe.getCategory() != null &&
-                                recipe.getCategory().toLowerCase().contains(lowerCaseCategory)
-                        )
-                        .collect(java.util.stream.Collectors.toList());
-                System.out.println("After category filter: " + filtered.size() + " recipes");
+        // Whatever is still running was asked for by older input; a search that has not
+        // reached the database yet never will, and any result is dropped
+        long generation = ++searchGeneration;
+        cancelRunningSearch();
+        applyCategoryFilter(category);
+
+        String trimmedQuery = query == null ? "" : query.trim();
+        if (trimmedQuery.isEmpty()) {
+            // Back to the unfiltered catalogue: page it instead of loading everything
+            if (!pagingActive) {
+                loadRecipesFromService();
             }
+            return;
+        }
+        if (pagingActive) {
+            pagingActive = false;
+            sortedRecipes.setComparator(recipeTable.getComparator());
+        }
 
-                    // Final safety dedupe by recipe id
-                    java.util.Map<Integer, Recipe> byId = filtered.stream()
-                        .filter(r -> r != null && r.getId() != null)
-                        .collect(java.util.stream.Collectors.toMap(
-                            Recipe::getId,
-                            r -> r,
-                            (a,b) -> a,
-                            java.util.LinkedHashMap::new
-                        ));
-                    java.util.List<Recipe> noId = filtered.stream()
-                        .filter(r -> r != null && r.getId() == null)
-                        .collect(java.util.stream.Collectors.toList());
-                    filtered = new java.util.ArrayList<>(byId.values());
-                    filtered.addAll(noId);
-                recipeList.setAll(filtered);
-            recipeTable.setItems(recipeList);
-            System.out.println("Final result: " + filtered.size() + " recipes displayed");
-            System.out.println("=== FILTER RECIPES END ===");
-        } catch (Exception e) {
-            System.err.println("Error in filterRecipes: " + e.getMessage());
-            e.printStackTrace();
-            showAlert("Error", "Failed to filter recipes: " + e.getMessage());
+        boolean refinement = resultQuery != null
+            && recipeService.isSearchRefinement(resultQuery, recipeList.size(), trimmedQuery);
+        List<Recipe> previous = refinement ? new ArrayList<>(recipeList) : null;
+        // Searches go through the service's DAO executor, which bounds database demand;
+        // narrowing is in-memory only
+        // Kept before thenApply: cancelling a dependent stage would not reach the service call
+        CompletableFuture<List<Recipe>> search = refinement
+            ? CompletableFuture.supplyAsync(() -> narrow(previous, trimmedQuery))
+            : recipeService.searchRecipesAsync(trimmedQuery);
+        runningSearch = search;
+        CompletableFuture<List<Recipe>> result = refinement ? search : search.thenApply(this::dedupe);
+        result.whenComplete((recipes, error) -> javafx.application.Platform.runLater(() -> {
+            // Only the latest search may touch the table
+            if (generation != searchGeneration) {
+                return;
+            }
+            runningSearch = null;
+            if (error != null) {
+                Throwable cause = unwrap(error);
+                LOG.error("Recipe filtering failed", cause);
+                showAlert("Error", "Failed to filter recipes: " + cause.getMessage());
+                return;
+            }
+            if (refinement) {
+                // Drop only the recipes that no longer match; the table sees removals, not a new list
+                Set<Recipe> keep = Collections.newSetFromMap(new IdentityHashMap<>());
+                keep.addAll(recipes);
+                recipeList.retainAll(keep);
+            } else {
+                recipeList.setAll(recipes);
+                showResultLimit(recipes.size() >= recipeService.getSearchResultLimit());
+            }
+            resultQuery = trimmedQuery;
+            LOG.debug("Filter displayed {} recipes ({})", filteredRecipes.size(), refinement ? "narrowed" : "searched");
+        }));
+    }
+
+    private void cancelRunningSearch() {
+        if (runningSearch != null) {
+            runningSearch.cancel(true);
+            runningSearch = null;
         }
     }
 
+    private void showResultLimit(boolean capped) {
+        if (resultLimitLabel == null) {
+            return;
+        }
+        if (capped) {
+            resultLimitLabel.setText("Showing the first " + recipeService.getSearchResultLimit()
+                + " matches; refine the search to see the rest");
+        }
+        resultLimitLabel.setVisible(capped);
+        resultLimitLabel.setManaged(capped);
+    }
+
+    // The category is a view over the loaded recipes; changing it never goes back to the service
+    private void applyCategoryFilter(String category) {
+        String trimmed = category == null ? "" : category.trim();
+        if (trimmed.isEmpty() || trimmed.equalsIgnoreCase("all")) {
+            if (filteredRecipes.getPredicate() != null) {
+                filteredRecipes.setPredicate(null);
+            }
+            appliedCategory = null;
+            return;
+        }
+        if (trimmed.equalsIgnoreCase(appliedCategory)) {
+            return;
+        }
+        appliedCategory = trimmed;
+        // Resolved once, so each row is an int comparison; a category not seen yet falls back to strings
+        int categoryKey = SymbolTable.CATEGORIES.lookupKey(trimmed);
+        filteredRecipes.setPredicate(categoryKey != SymbolTable.NONE
+            ? recipe -> recipe != null && SymbolTable.CATEGORIES.key(recipe.getCategoryCode()) == categoryKey
+            : recipe -> recipe != null && trimmed.equalsIgnoreCase(recipe.getCategory()));
+        // Pages loaded so far may hold few recipes of this category
+        scheduleNextPageIfShort();
+    }
+
+    // Runs on a DAO virtual thread; must not touch any control
+    private List<Recipe> dedupe(List<Recipe> found) {
+        LOG.debug("Service search returned {} recipes", found.size());
+
+        // Final safety dedupe by recipe id
+        java.util.Map<Integer, Recipe> byId = found.stream()
+            .filter(r -> r != null && r.getId() != null)
+            .collect(java.util.stream.Collectors.toMap(
+                Recipe::getId,
+                r -> r,
+                (a,b) -> a,
+                java.util.LinkedHashMap::new
+            ));
+        java.util.List<Recipe> noId = found.stream()
+            .filter(r -> r != null && r.getId() == null)
+            .collect(java.util.stream.Collectors.toList());
+        List<Recipe> result = new ArrayList<>(byId.values());
+        result.addAll(noId);
+        return result;
+    }
+
+    // Runs off the FX thread: keeps the previous results that still match the longer query
+    private List<Recipe> narrow(List<Recipe> previous, String query) {
+        Predicate<Recipe> matcher = recipeService.searchMatcher(query);
+        List<Recipe> kept = new ArrayList<>();
+        for (Recipe recipe : previous) {
+            if (matcher.test(recipe)) {
+                kept.add(recipe);
+            }
+        }
+        LOG.debug("Narrowed {} previous results to {} for '{}'", previous.size(), kept.size(), query);
+        return kept;
+    }
+
     private void showRecipeForm(Recipe recipe) {
         Dialog<Recipe> dialog = new Dialog<>();
         dialog.setTitle(recipe == null ? "Add Recipe" : "Edit Recipe");
@@ -403,7 +627,6 @@ public class RecipeListController {
                         toSave.setOwnerUserId(SessionManager.getCurrentUser().getId());
                     }
 
-                    recipeService.saveRecipe(toSave);
                     return toSave;
                 } catch (NumberFormatException e) {
                     showAlert("Invalid input", "Preparation time, cooking time and servings must be numbers.");
@@ -412,7 +635,15 @@ public class RecipeListController {
             return null;
         });
 
-        dialog.showAndWait().ifPresent(saved -> loadRecipesFromService());
+        // Saved off the FX thread; the list reloads once the database has it
+        dialog.showAndWait().ifPresent(toSave -> recipeService.saveRecipeAsync(toSave)
+            .whenComplete((saved, error) -> javafx.application.Platform.runLater(() -> {
+                if (error != null) {
+                    showAlert("Error", "Failed to save recipe: " + unwrap(error).getMessage());
+                } else {
+                    loadRecipesFromService();
+                }
+            })));
     }
 
     private void viewSelectedRecipe() {
@@ -446,6 +677,10 @@ public class RecipeListController {
 
     // Deletion is now handled on the detail page
 
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
     private void showAlert(String title, String content) {
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle(title);
@@ -0,0 +1,134 @@
+package com.myapp.controllers;
+
+import java.net.URL;
+import java.util.concurrent.CompletionException;
+
+import com.myapp.metrics.Metrics;
+import com.myapp.services.AuthService;
+import com.myapp.services.AuthServiceImpl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javafx.application.Platform;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
+import javafx.scene.control.PasswordField;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TextField;
+import javafx.stage.Stage;
+
+public class RegisterController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RegisterController.class);
+
+    @FXML private TextField nameField;
+    @FXML private TextField emailField;
+    @FXML private PasswordField passwordField;
+    @FXML private PasswordField confirmField;
+    @FXML private Button registerButton;
+    @FXML private ProgressIndicator progressIndicator;
+
+    private final AuthService authService = Metrics.instrument(AuthService.class, new AuthServiceImpl());
+    private boolean registerInFlight;
+
+    @FXML
+    public void handleRegister(ActionEvent event) {
+        if (registerInFlight) {
+            return;
+        }
+        String name = nameField.getText();
+        String email = emailField.getText();
+        String password = passwordField.getText();
+        String confirm = confirmField.getText();
+
+        if (name == null || name.isBlank() || email == null || email.isBlank() || password == null || password.isBlank()) {
+            showError("Missing info", "Please fill in all fields.");
+            return;
+        }
+        if (!password.equals(confirm)) {
+            showError("Password mismatch", "Password and confirm do not match.");
+            return;
+        }
+
+        setBusy(true);
+        authService.registerAsync(name, email, password).whenComplete((created, error) -> Platform.runLater(() -> {
+            setBusy(false);
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (cause instanceof IllegalArgumentException || cause instanceof IllegalStateException) {
+                    // Show friendly message (e.g., duplicate email, too many requests)
+                    showError("Registration failed", cause.getMessage());
+                } else {
+                    // Avoid leaking DAO/internal messages to user
+                    showError("Registration failed", "Please try again later.");
+                    LOG.error("Registration failed", cause);
+                }
+                return;
+            }
+            if (created != null) {
+                showInfo("Registration successful", "You can now login.");
+                try {
+                    navigateToLogin(event);
+                } catch (Exception e) {
+                    showError("Error", "Failed to open login page: " + e.getMessage());
+                }
+            }
+        }));
+    }
+
+    private void setBusy(boolean busy) {
+        registerInFlight = busy;
+        if (registerButton != null) {
+            registerButton.setDisable(busy);
+        }
+        if (progressIndicator != null) {
+            progressIndicator.setVisible(busy);
+        }
+    }
+
+    @FXML
+    public void handleBack(ActionEvent event) {
+        try {
+            navigateToLogin(event);
+        } catch (Exception e) {
+            showError("Error", "Failed to go back: " + e.getMessage());
+        }
+    }
+
+    private void navigateToLogin(ActionEvent event) throws Exception {
+        URL fxmlUrl = getClass().getResource("/views/login.fxml");
+        FXMLLoader loader = new FXMLLoader(fxmlUrl);
+        Parent root = loader.load();
+        Stage stage = (Stage)((javafx.scene.Node) event.getSource()).getScene().getWindow();
+        Scene scene = new Scene(root, 800, 600);
+        URL cssUrl = getClass().getResource("/styles/styles.css");
+        if (cssUrl != null) {
+            scene.getStylesheets().add(cssUrl.toExternalForm());
+        }
+        stage.setScene(scene);
+        stage.setTitle("Recipe Management System - Login");
+        stage.show();
+    }
+
+    private void showError(String title, String content) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(content);
+        alert.showAndWait();
+    }
+
+    private void showInfo(String title, String content) {
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(content);
+        alert.showAndWait();
+    }
+}
@@ -0,0 +1,23 @@
+package com.myapp.dao;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.myapp.models.Recipe;
+
+public interface RecipeDao {
+    Recipe save(Recipe recipe);
+    void insertBatch(List<Recipe> recipes);
+    Optional<Recipe> findById(Integer id);
+    List<Recipe> findAll();
+    void delete(Integer id);
+    List<Recipe> findAllVisibleForUser(Integer userId);
+    List<Recipe> findSummariesVisibleForUser(Integer userId);
+    List<Recipe> findSummaryPage(Integer userId, RecipeSort sort, boolean descending, Recipe after, int pageSize);
+    // Full recipes (with children) owned by the user, whatever their visibility
+    List<Recipe> findOwnedPage(Integer ownerUserId, RecipeSort sort, boolean descending, Recipe after, int pageSize);
+    List<String> findCategoriesVisibleForUser(Integer userId);
+    void loadSymbols();
+    // Throws UnsupportedOperationException when the database has no full-text search for it
+    List<Recipe> searchVisible(Integer userId, String query, int limit);
+}
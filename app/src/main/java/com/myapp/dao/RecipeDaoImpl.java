@@ -0,0 +1,1070 @@
+package com.myapp.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import com.myapp.config.DatabaseConfig;
+import com.myapp.metrics.Counter;
+import com.myapp.metrics.Metrics;
+import com.myapp.models.Ingredient;
+import com.myapp.models.Recipe;
+import com.myapp.models.SymbolTable;
+
+public class RecipeDaoImpl implements RecipeDao {
+
+    // Upper bound on recipe ids per IN (...) list when loading child rows
+    private static final int CHILD_BATCH_SIZE = 500;
+    // IN-lists are padded up to one of these lengths, so the pool's statement cache and the
+    // server see a handful of distinct texts instead of one per batch size
+    private static final int[] IN_LIST_SIZES = {8, 32, 128, CHILD_BATCH_SIZE};
+
+    // Rows turned into objects, by table
+    private static final Counter RECIPE_ROWS = Metrics.counter("db.rowsMapped.recipe");
+    private static final Counter INGREDIENT_ROWS = Metrics.counter("db.rowsMapped.ingredient");
+    private static final Counter INSTRUCTION_ROWS = Metrics.counter("db.rowsMapped.instruction");
+
+    private static final String SUMMARY_COLUMNS =
+        "SELECT id, title, preparation_time, cooking_time, servings, difficulty, category, owner_user_id, visibility ";
+    private static final String DETAIL_COLUMNS =
+        "SELECT id, title, description, preparation_time, cooking_time, servings, difficulty, category, owner_user_id, visibility ";
+
+    @Override
+    public Recipe save(Recipe recipe) {
+        if (recipe == null) {
+            throw new IllegalArgumentException("Recipe cannot be null");
+        }
+        validateRecipeFields(recipe);
+        if (recipe.getId() == null) {
+            insert(recipe);
+        } else {
+            update(recipe);
+        }
+        return recipe;
+    }
+
+    private void insert(Recipe recipe) {
+        String sql = "INSERT INTO recipe (title, description, preparation_time, cooking_time, servings, difficulty, category, owner_user_id, visibility) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            conn.setAutoCommit(false);
+
+            ps.setString(1, recipe.getTitle());
+            ps.setString(2, recipe.getDescription());
+            ps.setInt(3, recipe.getPreparationTime());
+            ps.setInt(4, recipe.getCookingTime());
+            ps.setInt(5, recipe.getServings());
+            ps.setString(6, recipe.getDifficulty());
+            ps.setString(7, recipe.getCategory());
+            if (recipe.getOwnerUserId() == null) {
+                ps.setNull(8, java.sql.Types.INTEGER);
+            } else {
+                ps.setInt(8, recipe.getOwnerUserId());
+            }
+            ps.setString(9, recipe.getVisibility() == null ? "PRIVATE" : recipe.getVisibility());
+
+            ps.executeUpdate();
+
+            try (ResultSet rs = ps.getGeneratedKeys()) {
+                if (rs.next()) {
+                    recipe.setId(rs.getInt(1));
+                }
+            }
+
+            saveIngredients(conn, recipe);
+            saveInstructions(conn, recipe);
+
+            conn.commit();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to insert recipe", e);
+        }
+    }
+
+    private void update(Recipe recipe) {
+        String sql = "UPDATE recipe SET title = ?, description = ?, preparation_time = ?, cooking_time = ?, " +
+                     "servings = ?, difficulty = ?, category = ?, owner_user_id = ?, visibility = ? WHERE id = ?";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            conn.setAutoCommit(false);
+
+            ps.setString(1, recipe.getTitle());
+            ps.setString(2, recipe.getDescription());
+            ps.setInt(3, recipe.getPreparationTime());
+            ps.setInt(4, recipe.getCookingTime());
+            ps.setInt(5, recipe.getServings());
+            ps.setString(6, recipe.getDifficulty());
+            ps.setString(7, recipe.getCategory());
+            if (recipe.getOwnerUserId() == null) {
+                ps.setNull(8, java.sql.Types.INTEGER);
+            } else {
+                ps.setInt(8, recipe.getOwnerUserId());
+            }
+            ps.setString(9, recipe.getVisibility() == null ? "PRIVATE" : recipe.getVisibility());
+            ps.setInt(10, recipe.getId());
+
+            ps.executeUpdate();
+
+            // A summary never loaded its children; syncing them would wipe the stored ones
+            if (recipe.isDetailsLoaded()) {
+                Recipe persisted = new Recipe();
+                persisted.setId(recipe.getId());
+                loadIngredients(conn, persisted);
+                syncIngredients(conn, recipe, persisted.getIngredients());
+                syncInstructions(conn, recipe, loadStepsByNumber(conn, recipe.getId()));
+            }
+
+            conn.commit();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to update recipe", e);
+        }
+    }
+
+    @Override
+    public void insertBatch(List<Recipe> recipes) {
+        if (recipes == null || recipes.isEmpty()) {
+            return;
+        }
+        for (Recipe recipe : recipes) {
+            if (recipe == null) {
+                throw new IllegalArgumentException("Recipe cannot be null");
+            }
+            validateRecipeFields(recipe);
+        }
+
+        String recipeSql = "INSERT INTO recipe (title, description, preparation_time, cooking_time, servings, difficulty, category, owner_user_id, visibility) " +
+                           "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String ingredientSql = "INSERT INTO ingredient (recipe_id, name, quantity, unit, notes) VALUES (?, ?, ?, ?, ?)";
+        String instructionSql = "INSERT INTO instruction (recipe_id, step_number, text) VALUES (?, ?, ?)";
+
+        // One transaction and one batch per table for the whole chunk; with rewriteBatchedStatements
+        // the driver sends each batch as multi-row INSERTs
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement ps = conn.prepareStatement(recipeSql, Statement.RETURN_GENERATED_KEYS)) {
+                for (Recipe recipe : recipes) {
+                    ps.setString(1, recipe.getTitle());
+                    ps.setString(2, recipe.getDescription());
+                    ps.setInt(3, recipe.getPreparationTime());
+                    ps.setInt(4, recipe.getCookingTime());
+                    ps.setInt(5, recipe.getServings());
+                    ps.setString(6, recipe.getDifficulty());
+                    ps.setString(7, recipe.getCategory());
+                    if (recipe.getOwnerUserId() == null) {
+                        ps.setNull(8, java.sql.Types.INTEGER);
+                    } else {
+                        ps.setInt(8, recipe.getOwnerUserId());
+                    }
+                    ps.setString(9, recipe.getVisibility() == null ? "PRIVATE" : recipe.getVisibility());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    int i = 0;
+                    while (keys.next() && i < recipes.size()) {
+                        recipes.get(i++).setId(keys.getInt(1));
+                    }
+                    if (i != recipes.size()) {
+                        throw new SQLException("Expected " + recipes.size() + " generated keys, got " + i);
+                    }
+                }
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement(ingredientSql)) {
+                boolean pending = false;
+                for (Recipe recipe : recipes) {
+                    if (recipe.getIngredients() == null) {
+                        continue;
+                    }
+                    for (Ingredient ing : recipe.getIngredients()) {
+                        if (ing == null) {
+                            continue;
+                        }
+                        ps.setInt(1, recipe.getId());
+                        ps.setString(2, ing.getName());
+                        ps.setDouble(3, ing.getQuantity());
+                        ps.setString(4, ing.getUnit());
+                        ps.setString(5, ing.getNotes());
+                        ps.addBatch();
+                        pending = true;
+                    }
+                }
+                if (pending) {
+                    ps.executeBatch();
+                }
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement(instructionSql)) {
+                boolean pending = false;
+                for (Recipe recipe : recipes) {
+                    if (recipe.getInstructions() == null) {
+                        continue;
+                    }
+                    int step = 1;
+                    for (String text : recipe.getInstructions()) {
+                        if (text == null || text.isBlank()) {
+                            continue;
+                        }
+                        ps.setInt(1, recipe.getId());
+                        ps.setInt(2, step++);
+                        ps.setString(3, text);
+                        ps.addBatch();
+                        pending = true;
+                    }
+                }
+                if (pending) {
+                    ps.executeBatch();
+                }
+            }
+
+            conn.commit();
+        } catch (SQLException e) {
+            for (Recipe recipe : recipes) {
+                recipe.setId(null);
+            }
+            throw new RuntimeException("Failed to insert recipe batch", e);
+        }
+    }
+
+    @Override
+    public Optional<Recipe> findById(Integer id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+
+        String sql = "SELECT id, title, description, preparation_time, cooking_time, servings, difficulty, category, owner_user_id, visibility " +
+                     "FROM recipe WHERE id = ?";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    Recipe recipe = mapRowToRecipe(rs, new RecipeColumns(rs));
+                    loadIngredients(conn, recipe);
+                    loadInstructions(conn, recipe);
+                    return Optional.of(recipe);
+                }
+            }
+        }catch (SQLException e) {
+            throw new RuntimeException("Failed to find recipe by id", e);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<Recipe> findAll() {
+        List<Recipe> recipes = new ArrayList<>();
+        String sql = "SELECT id, title, description, preparation_time, cooking_time, servings, difficulty, category, owner_user_id, visibility FROM recipe";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+
+            RecipeColumns cols = new RecipeColumns(rs);
+            while (rs.next()) {
+                recipes.add(mapRowToRecipe(rs, cols));
+            }
+            loadChildren(conn, recipes);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find all recipes", e);
+        }
+        return recipes;
+    }
+
+    @Override
+    public void delete(Integer id) {
+        if (id == null) {
+            return;
+        }
+
+        String sql = "DELETE FROM recipe WHERE id = ?";
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+
+            deleteIngredients(conn, id);
+            deleteInstructions(conn, id);
+
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setInt(1, id);
+                ps.executeUpdate();
+            }
+
+            conn.commit();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to delete recipe", e);
+        }
+    }
+
+    @Override
+    public List<Recipe> findAllVisibleForUser(Integer userId) {
+        List<Recipe> recipes = new ArrayList<>();
+        String sqlNoUser = "SELECT id, title, description, preparation_time, cooking_time, servings, difficulty, category, owner_user_id, visibility "
+            + "FROM recipe WHERE visibility = 'PUBLIC' OR visibility IS NULL OR visibility = ''";
+        String sqlWithUser = "SELECT id, title, description, preparation_time, cooking_time, servings, difficulty, category, owner_user_id, visibility "
+            + "FROM recipe WHERE visibility = 'PUBLIC' OR visibility IS NULL OR visibility = '' OR owner_user_id = ?";
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            PreparedStatement ps;
+            try {
+                if (userId == null) {
+                    ps = conn.prepareStatement(sqlNoUser);
+                } else {
+                    ps = conn.prepareStatement(sqlWithUser);
+                    ps.setInt(1, userId);
+                }
+            } catch (SQLException e) {
+                // Fallback for legacy schema without visibility/owner_user_id
+                String legacySql = "SELECT id, title, description, preparation_time, cooking_time, servings, difficulty, category FROM recipe";
+                ps = conn.prepareStatement(legacySql);
+            }
+
+            // Statements must be closed explicitly now that the connection goes back to the pool
+            try (PreparedStatement query = ps;
+                 ResultSet rs = query.executeQuery()) {
+                RecipeColumns cols = new RecipeColumns(rs);
+                while (rs.next()) {
+                    recipes.add(mapRowToRecipe(rs, cols));
+                }
+            }
+            loadChildren(conn, recipes);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find visible recipes", e);
+        }
+        return recipes;
+    }
+
+    @Override
+    public List<Recipe> findSummariesVisibleForUser(Integer userId) {
+        List<Recipe> recipes = new ArrayList<>();
+        String sql = SUMMARY_COLUMNS + "FROM recipe WHERE " + visibleClause(userId);
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            if (userId != null) {
+                ps.setInt(1, userId);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                RecipeColumns cols = new RecipeColumns(rs);
+                while (rs.next()) {
+                    recipes.add(mapRowToSummary(rs, cols));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find visible recipe summaries", e);
+        }
+        return recipes;
+    }
+
+    @Override
+    public List<Recipe> findSummaryPage(Integer userId, RecipeSort sort, boolean descending, Recipe after, int pageSize) {
+        return findPage(visibleClause(userId), userId, sort, descending, after, pageSize, false);
+    }
+
+    @Override
+    public List<Recipe> findOwnedPage(Integer ownerUserId, RecipeSort sort, boolean descending, Recipe after, int pageSize) {
+        if (ownerUserId == null) {
+            throw new IllegalArgumentException("Owner user ID cannot be null");
+        }
+        return findPage("owner_user_id = ?", ownerUserId, sort, descending, after, pageSize, true);
+    }
+
+    // The one keyset pagination path; with details the page also gets descriptions and children.
+    // userId, when not null, is bound to the scope's single parameter.
+    private List<Recipe> findPage(String scope, Integer userId, RecipeSort sort, boolean descending, Recipe after,
+                                  int pageSize, boolean details) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than 0");
+        }
+        RecipeSort order = sort == null ? RecipeSort.ID : sort;
+        String key = order.expression();
+        String seek = descending ? " < " : " > ";
+        String direction = descending ? " DESC" : "";
+        // Keyset predicate: seek past the cursor instead of OFFSET, so deep pages cost the same as the first.
+        // The row comparison maps onto the (key, id) index as a single range, read backwards when descending.
+        String sql = (details ? DETAIL_COLUMNS : SUMMARY_COLUMNS) + "FROM recipe WHERE (" + scope + ")"
+            + (after == null ? "" : order == RecipeSort.ID ? " AND id" + seek + "?" : " AND (" + key + ", id)" + seek + "(?, ?)")
+            + " ORDER BY " + (order == RecipeSort.ID ? "id" + direction : key + direction + ", id" + direction)
+            + " LIMIT ?";
+
+        List<Recipe> recipes = new ArrayList<>(pageSize);
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                int idx = 1;
+                if (userId != null) {
+                    ps.setInt(idx++, userId);
+                }
+                if (after != null) {
+                    if (after.getId() == null) {
+                        throw new IllegalArgumentException("Page cursor must have an id");
+                    }
+                    if (order != RecipeSort.ID) {
+                        order.bindValue(ps, idx++, after);
+                    }
+                    ps.setInt(idx++, after.getId());
+                }
+                ps.setInt(idx, pageSize);
+                try (ResultSet rs = ps.executeQuery()) {
+                    RecipeColumns cols = new RecipeColumns(rs);
+                    while (rs.next()) {
+                        recipes.add(details ? mapRowToRecipe(rs, cols) : mapRowToSummary(rs, cols));
+                    }
+                }
+            }
+            if (details) {
+                loadChildren(conn, recipes);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find recipe page", e);
+        }
+        return recipes;
+    }
+
+    @Override
+    public List<String> findCategoriesVisibleForUser(Integer userId) {
+        String sql = "SELECT DISTINCT category FROM recipe WHERE (" + visibleClause(userId) + ") "
+            + "AND category IS NOT NULL AND category <> '' ORDER BY category";
+
+        List<String> categories = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            if (userId != null) {
+                ps.setInt(1, userId);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    categories.add(rs.getString(1));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to find recipe categories", e);
+        }
+        return categories;
+    }
+
+    /**
+     * Registers every stored category, difficulty, unit and visibility with
+     * the shared symbol tables, so rows mapped later reuse existing codes.
+     */
+    @Override
+    public void loadSymbols() {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            loadSymbols(conn, "SELECT DISTINCT category FROM recipe", SymbolTable.CATEGORIES);
+            loadSymbols(conn, "SELECT DISTINCT difficulty FROM recipe", SymbolTable.DIFFICULTIES);
+            loadSymbols(conn, "SELECT DISTINCT unit FROM ingredient", SymbolTable.UNITS);
+            // Last: legacy schemas have no visibility column
+            loadSymbols(conn, "SELECT DISTINCT visibility FROM recipe", SymbolTable.VISIBILITIES);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load recipe symbols", e);
+        }
+    }
+
+    private static void loadSymbols(Connection conn, String sql, SymbolTable table) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                table.code(rs.getString(1));
+            }
+        }
+    }
+
+    @Override
+    public List<Recipe> searchVisible(Integer userId, String query, int limit) {
+        if (query == null || query.trim().isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        String trimmed = query.trim();
+        String match;
+        String sql;
+        if (trimmed.length() <= 2) {
+            // Below InnoDB's minimum full-text token size; keep the title-contains behaviour
+            match = "%" + trimmed.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+            sql = "SELECT id, title, description, preparation_time, cooking_time, servings, difficulty, category, owner_user_id, visibility "
+                + "FROM recipe WHERE (" + visibleClause(userId) + ") AND title LIKE ? ORDER BY id LIMIT ?";
+        } else {
+            match = toBooleanQuery(trimmed);
+            if (match.isEmpty()) {
+                return new ArrayList<>();
+            }
+            sql = "SELECT id, title, description, preparation_time, cooking_time, servings, difficulty, category, owner_user_id, visibility "
+                + "FROM recipe WHERE (" + visibleClause(userId) + ") AND ("
+                + "MATCH(title, description) AGAINST (? IN BOOLEAN MODE) "
+                + "OR id IN (SELECT recipe_id FROM ingredient WHERE MATCH(name) AGAINST (? IN BOOLEAN MODE)) "
+                + "OR id IN (SELECT recipe_id FROM instruction WHERE MATCH(text) AGAINST (? IN BOOLEAN MODE))"
+                + ") ORDER BY id LIMIT ?";
+        }
+
+        List<Recipe> recipes = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            int idx = 1;
+            if (userId != null) {
+                ps.setInt(idx++, userId);
+            }
+            ps.setString(idx++, match);
+            if (trimmed.length() > 2) {
+                ps.setString(idx++, match);
+                ps.setString(idx++, match);
+            }
+            ps.setInt(idx, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                RecipeColumns cols = new RecipeColumns(rs);
+                while (rs.next()) {
+                    recipes.add(mapRowToRecipe(rs, cols));
+                }
+            }
+            loadChildren(conn, recipes);
+        } catch (SQLException e) {
+            if (isFullTextUnsupported(e)) {
+                throw new UnsupportedOperationException("Full-text search is not available", e);
+            }
+            throw new RuntimeException("Failed to search recipes", e);
+        }
+        return recipes;
+    }
+
+    // MySQL: no FULLTEXT index matching the column list (1191) or an engine without FULLTEXT (1214);
+    // H2 and others without MATCH ... AGAINST: unknown function (90022)
+    private static boolean isFullTextUnsupported(SQLException e) {
+        int code = e.getErrorCode();
+        return code == 1191 || code == 1214 || code == 90022;
+    }
+
+    // "choc cake" -> "+choc* +cake*": every word required, each matched as a prefix
+    private static String toBooleanQuery(String query) {
+        StringBuilder sb = new StringBuilder();
+        for (String word : query.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                if (sb.length() > 0) {
+                    sb.append(' ');
+                }
+                sb.append('+').append(word).append('*');
+            }
+        }
+        return sb.toString();
+    }
+
+    // Binds owner_user_id as the first parameter when userId is not null
+    private static String visibleClause(Integer userId) {
+        return "visibility = 'PUBLIC' OR visibility IS NULL OR visibility = ''"
+            + (userId == null ? "" : " OR owner_user_id = ?");
+    }
+
+    private void validateRecipeFields(Recipe recipe) {
+        if (recipe.getTitle() == null || recipe.getTitle().trim().isEmpty()) {
+            throw new IllegalArgumentException("Recipe title cannot be null or empty");
+        }
+        if (recipe.getDescription() == null || recipe.getDescription().trim().isEmpty()) {
+            throw new IllegalArgumentException("Recipe description cannot be null or empty");
+        }
+        if (recipe.getPreparationTime() < 0) {
+            throw new IllegalArgumentException("Preparation time cannot be negative");
+        }
+        if (recipe.getCookingTime() < 0) {
+            throw new IllegalArgumentException("Cooking time cannot be negative");
+        }
+        if (recipe.getServings() <= 0) {
+            throw new IllegalArgumentException("Servings must be greater than 0");
+        }
+        if (recipe.getDifficulty() == null || recipe.getDifficulty().trim().isEmpty()) {
+            throw new IllegalArgumentException("Recipe difficulty cannot be null or empty");
+        }
+        if (recipe.getCategory() == null || recipe.getCategory().trim().isEmpty()) {
+            throw new IllegalArgumentException("Recipe category cannot be null or empty");
+        }
+    }
+
+    /**
+     * Maps the current row using column positions resolved once per result set.
+     * Columns missing from the projection (legacy schema, summaries) are skipped.
+     */
+    private Recipe mapRowToRecipe(ResultSet rs, RecipeColumns cols) throws SQLException {
+        RECIPE_ROWS.increment();
+        Recipe recipe = new Recipe();
+        recipe.setId(rs.getInt(cols.id));
+        recipe.setTitle(rs.getString(cols.title));
+        if (cols.description > 0) {
+            recipe.setDescription(rs.getString(cols.description));
+        }
+        recipe.setPreparationTime(rs.getInt(cols.preparationTime));
+        recipe.setCookingTime(rs.getInt(cols.cookingTime));
+        recipe.setServings(rs.getInt(cols.servings));
+        recipe.setDifficulty(rs.getString(cols.difficulty));
+        recipe.setCategory(rs.getString(cols.category));
+        // Optional columns support (legacy schema without auth fields)
+        if (cols.ownerUserId > 0) {
+            int ownerId = rs.getInt(cols.ownerUserId);
+            if (!rs.wasNull()) {
+                recipe.setOwnerUserId(ownerId);
+            }
+        }
+        if (cols.visibility > 0) {
+            recipe.setVisibility(rs.getString(cols.visibility));
+        }
+        return recipe;
+    }
+
+    // Header columns only: no description, ingredients or instructions
+    private Recipe mapRowToSummary(ResultSet rs, RecipeColumns cols) throws SQLException {
+        Recipe recipe = mapRowToRecipe(rs, cols);
+        recipe.setDetailsLoaded(false);
+        return recipe;
+    }
+
+    /**
+     * 1-based positions of the recipe columns in a result set, 0 when absent.
+     * Resolved with a single pass over the metadata instead of a lookup per row.
+     */
+    private static final class RecipeColumns {
+        private final int id;
+        private final int title;
+        private final int description;
+        private final int preparationTime;
+        private final int cookingTime;
+        private final int servings;
+        private final int difficulty;
+        private final int category;
+        private final int ownerUserId;
+        private final int visibility;
+
+        private RecipeColumns(ResultSet rs) throws SQLException {
+            ResultSetMetaData md = rs.getMetaData();
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = md.getColumnCount(); i >= 1; i--) {
+                // Iterate backwards so the first occurrence of a duplicate label wins
+                positions.put(md.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+            }
+            this.id = positions.getOrDefault("id", 0);
+            this.title = positions.getOrDefault("title", 0);
+            this.description = positions.getOrDefault("description", 0);
+            this.preparationTime = positions.getOrDefault("preparation_time", 0);
+            this.cookingTime = positions.getOrDefault("cooking_time", 0);
+            this.servings = positions.getOrDefault("servings", 0);
+            this.difficulty = positions.getOrDefault("difficulty", 0);
+            this.category = positions.getOrDefault("category", 0);
+            this.ownerUserId = positions.getOrDefault("owner_user_id", 0);
+            this.visibility = positions.getOrDefault("visibility", 0);
+        }
+    }
+
+    private void saveIngredients(Connection conn, Recipe recipe) throws SQLException {
+        if (recipe.getIngredients() == null || recipe.getIngredients().isEmpty()) {
+            return;
+        }
+
+        String sql = "INSERT INTO ingredient (recipe_id, name, quantity, unit, notes) VALUES (?, ?, ?, ?, ?)";
+
+        List<Ingredient> inserted = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (Ingredient ing : recipe.getIngredients()) {
+                if (ing == null) {
+                    continue;
+                }
+                ps.setInt(1, recipe.getId());
+                ps.setString(2, ing.getName());
+                ps.setDouble(3, ing.getQuantity());
+                ps.setString(4, ing.getUnit());
+                ps.setString(5, ing.getNotes());
+                ps.addBatch();
+                inserted.add(ing);
+            }
+            ps.executeBatch();
+            // Later updates match ingredients to their rows by id
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                for (int i = 0; i < inserted.size() && keys.next(); i++) {
+                    inserted.get(i).setId(keys.getInt(1));
+                }
+            }
+        }
+    }
+
+    private void saveInstructions(Connection conn, Recipe recipe) throws SQLException {
+        if (recipe.getInstructions() == null || recipe.getInstructions().isEmpty()) {
+            return;
+        }
+
+        String sql = "INSERT INTO instruction (recipe_id, step_number, text) VALUES (?, ?, ?)";
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            int step = 1;
+            for (String text : recipe.getInstructions()) {
+                if (text == null || text.isBlank()) {
+                    continue;
+                }
+                ps.setInt(1, recipe.getId());
+                ps.setInt(2, step++);
+                ps.setString(3, text);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    /**
+     * Brings the ingredient rows in line with the recipe. An incoming
+     * ingredient claims the stored row with its id; one without an id claims
+     * an unclaimed stored row with the same name. Claimed rows are updated only
+     * if they differ, the rest are inserted, and stored rows nobody claimed are
+     * deleted, so an unchanged list issues no statements and removing one
+     * ingredient deletes just that row.
+     */
+    private void syncIngredients(Connection conn, Recipe recipe, List<Ingredient> persisted) throws SQLException {
+        Map<Integer, Ingredient> unclaimed = new LinkedHashMap<>();
+        for (Ingredient have : persisted) {
+            unclaimed.put(have.getId(), have);
+        }
+        List<Ingredient> changed = new ArrayList<>();
+        List<Ingredient> added = new ArrayList<>();
+        List<Ingredient> withoutId = new ArrayList<>();
+        if (recipe.getIngredients() != null) {
+            for (Ingredient want : recipe.getIngredients()) {
+                if (want == null) {
+                    continue;
+                }
+                Ingredient have = want.getId() == null ? null : unclaimed.remove(want.getId());
+                if (have != null) {
+                    if (!sameIngredient(want, have)) {
+                        changed.add(want);
+                    }
+                } else {
+                    withoutId.add(want);
+                }
+            }
+        }
+        // Second pass so an id-less ingredient never takes a row another ingredient claims by id
+        for (Ingredient want : withoutId) {
+            Ingredient have = null;
+            for (Ingredient candidate : unclaimed.values()) {
+                if (Objects.equals(candidate.getName(), want.getName())) {
+                    have = candidate;
+                    break;
+                }
+            }
+            if (have == null) {
+                added.add(want);
+                continue;
+            }
+            unclaimed.remove(have.getId());
+            want.setId(have.getId());
+            if (!sameIngredient(want, have)) {
+                changed.add(want);
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            String updateSql = "UPDATE ingredient SET name = ?, quantity = ?, unit = ?, notes = ? WHERE id = ? AND recipe_id = ?";
+            try (PreparedStatement ps = conn.prepareStatement(updateSql)) {
+                for (Ingredient want : changed) {
+                    ps.setString(1, want.getName());
+                    ps.setDouble(2, want.getQuantity());
+                    ps.setString(3, want.getUnit());
+                    ps.setString(4, want.getNotes());
+                    ps.setInt(5, want.getId());
+                    ps.setInt(6, recipe.getId());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+
+        if (!added.isEmpty()) {
+            String insertSql = "INSERT INTO ingredient (recipe_id, name, quantity, unit, notes) VALUES (?, ?, ?, ?, ?)";
+            try (PreparedStatement ps = conn.prepareStatement(insertSql, Statement.RETURN_GENERATED_KEYS)) {
+                for (Ingredient ing : added) {
+                    ps.setInt(1, recipe.getId());
+                    ps.setString(2, ing.getName());
+                    ps.setDouble(3, ing.getQuantity());
+                    ps.setString(4, ing.getUnit());
+                    ps.setString(5, ing.getNotes());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (int i = 0; i < added.size() && keys.next(); i++) {
+                        added.get(i).setId(keys.getInt(1));
+                    }
+                }
+            }
+        }
+
+        if (!unclaimed.isEmpty()) {
+            String deleteSql = "DELETE FROM ingredient WHERE id = ?";
+            try (PreparedStatement ps = conn.prepareStatement(deleteSql)) {
+                for (Integer staleId : unclaimed.keySet()) {
+                    ps.setInt(1, staleId);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Brings the instruction rows to steps 1..n in list order, diffed against
+     * the stored step numbers: a step whose number exists is updated if its
+     * text differs, a missing number is inserted, and stored numbers outside
+     * 1..n are deleted. Gaps left by earlier edits are closed on the way.
+     */
+    private void syncInstructions(Connection conn, Recipe recipe, Map<Integer, String> persisted) throws SQLException {
+        List<String> incoming = new ArrayList<>();
+        if (recipe.getInstructions() != null) {
+            for (String text : recipe.getInstructions()) {
+                if (text != null && !text.isBlank()) {
+                    incoming.add(text);
+                }
+            }
+        }
+
+        List<Integer> changed = new ArrayList<>();
+        List<Integer> added = new ArrayList<>();
+        for (int step = 1; step <= incoming.size(); step++) {
+            String stored = persisted.get(step);
+            if (stored == null) {
+                added.add(step);
+            } else if (!stored.equals(incoming.get(step - 1))) {
+                changed.add(step);
+            }
+        }
+        List<Integer> stale = new ArrayList<>();
+        for (Integer step : persisted.keySet()) {
+            if (step < 1 || step > incoming.size()) {
+                stale.add(step);
+            }
+        }
+
+        if (!stale.isEmpty()) {
+            String deleteSql = "DELETE FROM instruction WHERE recipe_id = ? AND step_number = ?";
+            try (PreparedStatement ps = conn.prepareStatement(deleteSql)) {
+                for (Integer step : stale) {
+                    ps.setInt(1, recipe.getId());
+                    ps.setInt(2, step);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            String updateSql = "UPDATE instruction SET text = ? WHERE recipe_id = ? AND step_number = ?";
+            try (PreparedStatement ps = conn.prepareStatement(updateSql)) {
+                for (Integer step : changed) {
+                    ps.setString(1, incoming.get(step - 1));
+                    ps.setInt(2, recipe.getId());
+                    ps.setInt(3, step);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+
+        if (!added.isEmpty()) {
+            String insertSql = "INSERT INTO instruction (recipe_id, step_number, text) VALUES (?, ?, ?)";
+            try (PreparedStatement ps = conn.prepareStatement(insertSql)) {
+                for (Integer step : added) {
+                    ps.setInt(1, recipe.getId());
+                    ps.setInt(2, step);
+                    ps.setString(3, incoming.get(step - 1));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+    }
+
+    // Quantity is stored as DECIMAL(10,2), so compare at that precision
+    private static boolean sameIngredient(Ingredient a, Ingredient b) {
+        return Objects.equals(a.getName(), b.getName())
+            && Math.round(a.getQuantity() * 100) == Math.round(b.getQuantity() * 100)
+            && Objects.equals(emptyToNull(a.getUnit()), emptyToNull(b.getUnit()))
+            && Objects.equals(emptyToNull(a.getNotes()), emptyToNull(b.getNotes()));
+    }
+
+    private static String emptyToNull(String s) {
+        return s == null || s.isEmpty() ? null : s;
+    }
+
+    private void loadIngredients(Connection conn, Recipe recipe) throws SQLException {
+        String sql = "SELECT id, name, quantity, unit, notes FROM ingredient WHERE recipe_id = ? ORDER BY id";
+
+        List<Ingredient> ingredients = new ArrayList<>();
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, recipe.getId());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    INGREDIENT_ROWS.increment();
+                    Ingredient ing = new Ingredient();
+                    ing.setId(rs.getInt("id"));
+                    ing.setName(rs.getString("name"));
+                    ing.setQuantity(rs.getDouble("quantity"));
+                    ing.setUnit(rs.getString("unit"));
+                    ing.setNotes(rs.getString("notes"));
+                    ingredients.add(ing);
+                }
+            }
+        }
+
+        recipe.setIngredients(ingredients);
+    }
+
+    private void loadInstructions(Connection conn, Recipe recipe) throws SQLException {
+        String sql = "SELECT step_number, text FROM instruction WHERE recipe_id = ? ORDER BY step_number";
+
+        List<String> instructions = new ArrayList<>();
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, recipe.getId());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    INSTRUCTION_ROWS.increment();
+                    instructions.add(rs.getString("text"));
+                }
+            }
+        }
+
+        recipe.setInstructions(instructions);
+    }
+
+    // Stored step numbers are not guaranteed to be contiguous
+    private Map<Integer, String> loadStepsByNumber(Connection conn, int recipeId) throws SQLException {
+        String sql = "SELECT step_number, text FROM instruction WHERE recipe_id = ? ORDER BY step_number";
+
+        Map<Integer, String> steps = new TreeMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, recipeId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    INSTRUCTION_ROWS.increment();
+                    steps.put(rs.getInt("step_number"), rs.getString("text"));
+                }
+            }
+        }
+        return steps;
+    }
+
+    /**
+     * Loads ingredients and instructions for many recipes with set-based queries
+     * ({@code recipe_id IN (...)}, {@value #CHILD_BATCH_SIZE} ids per batch) instead of
+     * two queries per recipe, so the round trip count grows with batches, not rows.
+     */
+    private void loadChildren(Connection conn, List<Recipe> recipes) throws SQLException {
+        if (recipes.isEmpty()) {
+            return;
+        }
+        Map<Integer, Recipe> byId = new HashMap<>(recipes.size() * 2);
+        for (Recipe recipe : recipes) {
+            recipe.setIngredients(new ArrayList<>());
+            recipe.setInstructions(new ArrayList<>());
+            byId.putIfAbsent(recipe.getId(), recipe);
+        }
+        List<Integer> ids = new ArrayList<>(byId.keySet());
+        for (int from = 0; from < ids.size(); from += CHILD_BATCH_SIZE) {
+            List<Integer> batch = ids.subList(from, Math.min(ids.size(), from + CHILD_BATCH_SIZE));
+            loadIngredientBatch(conn, batch, byId);
+            loadInstructionBatch(conn, batch, byId);
+        }
+    }
+
+    private void loadIngredientBatch(Connection conn, List<Integer> ids, Map<Integer, Recipe> byId) throws SQLException {
+        String sql = "SELECT id, recipe_id, name, quantity, unit, notes FROM ingredient WHERE recipe_id IN ("
+                     + placeholders(paddedSize(ids.size())) + ") ORDER BY recipe_id, id";
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            bindIds(ps, ids);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    INGREDIENT_ROWS.increment();
+                    Recipe recipe = byId.get(rs.getInt("recipe_id"));
+                    if (recipe == null) {
+                        continue;
+                    }
+                    Ingredient ing = new Ingredient();
+                    ing.setId(rs.getInt("id"));
+                    ing.setName(rs.getString("name"));
+                    ing.setQuantity(rs.getDouble("quantity"));
+                    ing.setUnit(rs.getString("unit"));
+                    ing.setNotes(rs.getString("notes"));
+                    recipe.getIngredients().add(ing);
+                }
+            }
+        }
+    }
+
+    private void loadInstructionBatch(Connection conn, List<Integer> ids, Map<Integer, Recipe> byId) throws SQLException {
+        String sql = "SELECT recipe_id, step_number, text FROM instruction WHERE recipe_id IN ("
+                     + placeholders(paddedSize(ids.size())) + ") ORDER BY recipe_id, step_number";
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            bindIds(ps, ids);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    INSTRUCTION_ROWS.increment();
+                    Recipe recipe = byId.get(rs.getInt("recipe_id"));
+                    if (recipe != null) {
+                        recipe.getInstructions().add(rs.getString("text"));
+                    }
+                }
+            }
+        }
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder(count * 2);
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "?" : ",?");
+        }
+        return sb.toString();
+    }
+
+    private static int paddedSize(int count) {
+        for (int size : IN_LIST_SIZES) {
+            if (count <= size) {
+                return size;
+            }
+        }
+        return count;
+    }
+
+    // Fills the padding with the last id; a repeated value does not change an IN match
+    private static void bindIds(PreparedStatement ps, List<Integer> ids) throws SQLException {
+        int padded = paddedSize(ids.size());
+        for (int i = 0; i < padded; i++) {
+            ps.setInt(i + 1, ids.get(Math.min(i, ids.size() - 1)));
+        }
+    }
+
+    private void deleteIngredients(Connection conn, int recipeId) throws SQLException {
+        String sql = "DELETE FROM ingredient WHERE recipe_id = ?";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, recipeId);
+            ps.executeUpdate();
+        }
+    }
+
+    private void deleteInstructions(Connection conn, int recipeId) throws SQLException {
+        String sql = "DELETE FROM instruction WHERE recipe_id = ?";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, recipeId);
+            ps.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.myapp.dao;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import com.myapp.models.Recipe;
+
+/**
+ * Sort keys supported by keyset pagination. Every order is made total by
+ * breaking ties on the recipe id, so a page cursor is (sort value, id).
+ * Keys are raw NOT NULL columns, each with a (column, id) index
+ * (migrations/20261018_add_sort_indexes.sql), so a page is an index range
+ * scan rather than a sort of every visible row.
+ */
+public enum RecipeSort {
+    ID("id"),
+    TITLE("title"),
+    CATEGORY("category"),
+    PREPARATION_TIME("preparation_time"),
+    COOKING_TIME("cooking_time");
+
+    private final String expression;
+
+    RecipeSort(String expression) {
+        this.expression = expression;
+    }
+
+    String expression() {
+        return expression;
+    }
+
+    // Binds the cursor's sort value; null maps to the column default
+    void bindValue(PreparedStatement ps, int index, Recipe cursor) throws SQLException {
+        switch (this) {
+            case ID -> ps.setInt(index, cursor.getId());
+            case TITLE -> ps.setString(index, cursor.getTitle() == null ? "" : cursor.getTitle());
+            case CATEGORY -> ps.setString(index, cursor.getCategory() == null ? "" : cursor.getCategory());
+            case PREPARATION_TIME -> ps.setInt(index, cursor.getPreparationTime());
+            case COOKING_TIME -> ps.setInt(index, cursor.getCookingTime());
+        }
+    }
+}
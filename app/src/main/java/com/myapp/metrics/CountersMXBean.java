@@ -0,0 +1,13 @@
+package com.myapp.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of all counters and gauges, registered as {@code com.myapp:type=Counters}.
+ */
+public interface CountersMXBean {
+
+    Map<String, Long> getCounters();
+
+    Map<String, Long> getGauges();
+}
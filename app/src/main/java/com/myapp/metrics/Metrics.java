@@ -0,0 +1,217 @@
+package com.myapp.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process-wide registry of timers, counters and gauges.
+ *
+ * <p>Recording is always on and costs a few atomic increments. {@link #start}
+ * additionally publishes everything over JMX under {@code com.myapp} and
+ * prints a snapshot at a fixed interval.
+ */
+public final class Metrics {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Metrics.class);
+
+    private static final String JMX_DOMAIN = "com.myapp";
+
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+    private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static final Map<String, LongSupplier> GAUGES = new ConcurrentHashMap<>();
+
+    // Innermost instrumented call running on this thread, e.g. "RecipeDao.findById"
+    private static final ThreadLocal<String> CURRENT_OPERATION = new ThreadLocal<>();
+
+    private static MBeanServer mbeanServer;
+    private static ScheduledExecutorService reporter;
+
+    private Metrics() {
+    }
+
+    public static Timer timer(String name) {
+        Timer timer = TIMERS.get(name);
+        if (timer != null) {
+            return timer;
+        }
+        Timer created = new Timer(name);
+        Timer existing = TIMERS.putIfAbsent(name, created);
+        if (existing != null) {
+            return existing;
+        }
+        registerTimer(created);
+        return created;
+    }
+
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, n -> new Counter());
+    }
+
+    /** Registers (or replaces) a value sampled on each snapshot, e.g. pool occupancy. */
+    public static void gauge(String name, LongSupplier value) {
+        GAUGES.put(name, value);
+    }
+
+    /**
+     * Name of the innermost {@link #instrument instrumented} call on the
+     * current thread, or {@code null} outside one. Lets lower layers such as
+     * the connection pool attribute their work to a DAO method.
+     */
+    public static String currentOperation() {
+        return CURRENT_OPERATION.get();
+    }
+
+    /**
+     * Wraps {@code target} so every call through {@code type} is timed as
+     * {@code <Type>.<method>}. Calls returning a {@link CompletableFuture} are
+     * timed until the future completes; the caller gets that same future.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T instrument(Class<T> type, T target) {
+        String prefix = type.getSimpleName() + ".";
+        Map<Method, Timer> timers = new ConcurrentHashMap<>();
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return invoke(target, method, args);
+            }
+            Timer timer = timers.computeIfAbsent(method, m -> timer(prefix + m.getName()));
+            String outer = CURRENT_OPERATION.get();
+            CURRENT_OPERATION.set(timer.getName());
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = invoke(target, method, args);
+            } catch (Throwable t) {
+                timer.record(System.nanoTime() - start, true);
+                throw t;
+            } finally {
+                CURRENT_OPERATION.set(outer);
+            }
+            if (result instanceof CompletableFuture<?> future) {
+                // Hand back the callee's own future, so cancelling it still reaches the work behind it
+                future.whenComplete((value, error) -> timer.record(System.nanoTime() - start, error != null));
+                return future;
+            }
+            timer.record(System.nanoTime() - start, false);
+            return result;
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Publishes the metrics over JMX and prints a snapshot every
+     * {@code reportIntervalSeconds} (0 disables the periodic snapshot).
+     */
+    public static synchronized void start(long reportIntervalSeconds) {
+        if (mbeanServer == null) {
+            mbeanServer = ManagementFactory.getPlatformMBeanServer();
+            register("type=Counters", new CountersView());
+            TIMERS.values().forEach(Metrics::registerTimer);
+        }
+        if (reporter == null && reportIntervalSeconds > 0) {
+            reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "metrics-reporter");
+                t.setDaemon(true);
+                return t;
+            });
+            reporter.scheduleAtFixedRate(() -> {
+                if (LOG.isInfoEnabled()) {
+                    LOG.info("{}", snapshot());
+                }
+            }, reportIntervalSeconds, reportIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    public static synchronized void stop() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+    }
+
+    /** Human-readable table of every timer that has recorded calls, then counters and gauges. */
+    public static String snapshot() {
+        StringBuilder sb = new StringBuilder("Metrics snapshot\n");
+        sb.append(String.format(Locale.ROOT, "  %-44s %9s %7s %9s %9s %9s %9s %9s%n",
+            "timer", "count", "errors", "mean ms", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (Timer t : new TreeMap<>(TIMERS).values()) {
+            if (t.getCount() == 0) {
+                continue;
+            }
+            sb.append(String.format(Locale.ROOT, "  %-44s %9d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                t.getName(), t.getCount(), t.getErrors(), t.getMeanMillis(),
+                t.getP50Millis(), t.getP95Millis(), t.getP99Millis(), t.getMaxMillis()));
+        }
+        counterValues().forEach((name, value) -> sb.append("  ").append(name).append(" = ").append(value).append('\n'));
+        gaugeValues().forEach((name, value) -> sb.append("  ").append(name).append(" = ").append(value).append('\n'));
+        return sb.toString();
+    }
+
+    static Map<String, Long> counterValues() {
+        Map<String, Long> values = new TreeMap<>();
+        COUNTERS.forEach((name, counter) -> values.put(name, counter.get()));
+        return values;
+    }
+
+    static Map<String, Long> gaugeValues() {
+        Map<String, Long> values = new TreeMap<>();
+        GAUGES.forEach((name, gauge) -> values.put(name, gauge.getAsLong()));
+        return values;
+    }
+
+    private static synchronized void registerTimer(Timer timer) {
+        if (mbeanServer != null) {
+            register("type=Timer,name=" + timer.getName(), timer);
+        }
+    }
+
+    private static void register(String properties, Object mbean) {
+        try {
+            mbeanServer.registerMBean(mbean, new ObjectName(JMX_DOMAIN + ":" + properties));
+        } catch (InstanceAlreadyExistsException ignore) {
+            // registered by an earlier start()
+        } catch (JMException e) {
+            LOG.warn("Failed to register MBean {}: {}", properties, e.getMessage());
+        }
+    }
+
+    private static final class CountersView implements CountersMXBean {
+        @Override
+        public Map<String, Long> getCounters() {
+            return counterValues();
+        }
+
+        @Override
+        public Map<String, Long> getGauges() {
+            return gaugeValues();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.myapp.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call latency (all calls, failed ones included) plus an error count.
+ */
+public final class Timer implements TimerMXBean {
+
+    private final String name;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    Timer(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void record(long nanos, boolean failed) {
+        histogram.recordNanos(nanos);
+        totalNanos.add(nanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    @Override
+    public long getCount() {
+        return histogram.count();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        long count = getCount();
+        return count == 0 ? 0 : totalNanos.sum() / 1e6 / count;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return percentileMillis(50);
+    }
+
+    @Override
+    public double getP95Millis() {
+        return percentileMillis(95);
+    }
+
+    @Override
+    public double getP99Millis() {
+        return percentileMillis(99);
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return percentileMillis(100);
+    }
+
+    public double percentileMillis(double percentile) {
+        return histogram.percentileMicros(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,21 @@
+package com.myapp.metrics;
+
+/**
+ * JMX view of a {@link Timer}, registered as {@code com.myapp:type=Timer,name=<timer>}.
+ */
+public interface TimerMXBean {
+
+    long getCount();
+
+    long getErrors();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP95Millis();
+
+    double getP99Millis();
+
+    double getMaxMillis();
+}
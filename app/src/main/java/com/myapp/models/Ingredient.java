@@ -6,7 +6,7 @@ package com.myapp.models;
 public class Ingredient extends BaseModel {
     private String name;
     private double quantity;
-    private String unit; // e.g., g, kg, ml, l, tsp, tbsp, cup, etc.
+    private int unitCode = SymbolTable.NONE; // e.g., g, kg, ml, l, tsp, tbsp, cup, etc.
     private String notes; //  "chopped", "diced"
 
     // Constructors
@@ -16,7 +16,7 @@ public class Ingredient extends BaseModel {
     public Ingredient(String name, double quantity, String unit) {
         this.name = name;
         this.quantity = quantity;
-        this.unit = unit;
+        this.unitCode = SymbolTable.UNITS.code(unit);
     }
 
     // Getters and Setters
@@ -37,11 +37,15 @@ public class Ingredient extends BaseModel {
     }
 
     public String getUnit() {
-        return unit;
+        return SymbolTable.UNITS.symbol(unitCode);
     }
 
     public void setUnit(String unit) {
-        this.unit = unit;
+        this.unitCode = SymbolTable.UNITS.code(unit);
+    }
+
+    public int getUnitCode() {
+        return unitCode;
     }
 
     public String getNotes() {
@@ -57,6 +61,7 @@ public class Ingredient extends BaseModel {
         StringBuilder sb = new StringBuilder();
         if (quantity > 0) {
             sb.append(quantity);
+            String unit = getUnit();
             if (unit != null && !unit.isEmpty()) {
                 sb.append(" ").append(unit);
             }
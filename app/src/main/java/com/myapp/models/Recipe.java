@@ -12,12 +12,16 @@ public class Recipe extends BaseModel {
     private int preparationTime; // in minutes
     private int cookingTime; // in minutes
     private int servings;
-    private String difficulty;
+    // Low-cardinality fields are held as codes into the shared symbol tables
+    private int difficultyCode = SymbolTable.NONE;
     private List<Ingredient> ingredients;
     private List<String> instructions;
-    private String category;
+    private int categoryCode = SymbolTable.NONE;
     private Integer ownerUserId;
-    private String visibility; // PUBLIC or PRIVATE
+    private int visibilityCode = SymbolTable.NONE; // PUBLIC or PRIVATE
+    private boolean detailsLoaded = true; // false for list summaries without description/ingredients/instructions
+    // Built on first search, dropped by the setters of the text it covers
+    private SearchKey searchKey;
 
     public Recipe() {
         this.ingredients = new ArrayList<>();
@@ -27,11 +31,11 @@ public class Recipe extends BaseModel {
     public Recipe(String title, String category, int prepTime, int cookTime, int servings, String difficulty, String description, String instructions) {
         this();
         this.title = title;
-        this.category = category;
+        this.categoryCode = SymbolTable.CATEGORIES.code(category);
         this.preparationTime = prepTime;
         this.cookingTime = cookTime;
         this.servings = servings;
-        this.difficulty = difficulty;
+        this.difficultyCode = SymbolTable.DIFFICULTIES.code(difficulty);
         this.description = description;
         if (instructions != null) {
             this.instructions = List.of(instructions.split("\\n"));
@@ -45,6 +49,7 @@ public class Recipe extends BaseModel {
 
     public void setTitle(String title) {
         this.title = title;
+        this.searchKey = null;
     }
 
     public String getDescription() {
@@ -53,6 +58,7 @@ public class Recipe extends BaseModel {
 
     public void setDescription(String description) {
         this.description = description;
+        this.searchKey = null;
     }
 
     public int getPreparationTime() {
@@ -80,11 +86,15 @@ public class Recipe extends BaseModel {
     }
 
     public String getDifficulty() {
-        return difficulty;
+        return SymbolTable.DIFFICULTIES.symbol(difficultyCode);
     }
 
     public void setDifficulty(String difficulty) {
-        this.difficulty = difficulty;
+        this.difficultyCode = SymbolTable.DIFFICULTIES.code(difficulty);
+    }
+
+    public int getDifficultyCode() {
+        return difficultyCode;
     }
 
     public List<Ingredient> getIngredients() {
@@ -93,10 +103,12 @@ public class Recipe extends BaseModel {
 
     public void setIngredients(List<Ingredient> ingredients) {
         this.ingredients = ingredients;
+        this.searchKey = null;
     }
 
     public void addIngredient(Ingredient ingredient) {
         this.ingredients.add(ingredient);
+        this.searchKey = null;
     }
 
     public List<String> getInstructions() {
@@ -105,18 +117,24 @@ public class Recipe extends BaseModel {
 
     public void setInstructions(List<String> instructions) {
         this.instructions = instructions;
+        this.searchKey = null;
     }
 
     public void addInstruction(String instruction) {
         this.instructions.add(instruction);
+        this.searchKey = null;
     }
 
     public String getCategory() {
-        return category;
+        return SymbolTable.CATEGORIES.symbol(categoryCode);
     }
 
     public void setCategory(String category) {
-        this.category = category;
+        this.categoryCode = SymbolTable.CATEGORIES.code(category);
+    }
+
+    public int getCategoryCode() {
+        return categoryCode;
     }
 
     public Integer getOwnerUserId() {
@@ -128,11 +146,42 @@ public class Recipe extends BaseModel {
     }
 
     public String getVisibility() {
-        return visibility;
+        return SymbolTable.VISIBILITIES.symbol(visibilityCode);
     }
 
     public void setVisibility(String visibility) {
-        this.visibility = visibility;
+        this.visibilityCode = SymbolTable.VISIBILITIES.code(visibility);
+    }
+
+    public int getVisibilityCode() {
+        return visibilityCode;
+    }
+
+    public boolean isDetailsLoaded() {
+        return detailsLoaded;
+    }
+
+    public void setDetailsLoaded(boolean detailsLoaded) {
+        this.detailsLoaded = detailsLoaded;
+    }
+
+    /**
+     * Normalized search text, computed on first use. Also rebuilt when the
+     * ingredient or instruction lists grew or shrank in place; other in-place
+     * edits (such as renaming an ingredient) need {@link #invalidateSearchKey}.
+     */
+    public SearchKey getSearchKey() {
+        SearchKey key = searchKey;
+        if (key == null || !key.isCurrentFor(this)) {
+            // Immutable, so a racing thread at worst builds its own copy
+            key = SearchKey.of(this);
+            searchKey = key;
+        }
+        return key;
+    }
+
+    public void invalidateSearchKey() {
+        this.searchKey = null;
     }
 
     @Override
@@ -144,10 +193,10 @@ public class Recipe extends BaseModel {
                 ", preparationTime=" + preparationTime +
                 ", cookingTime=" + cookingTime +
                 ", servings=" + servings +
-                ", difficulty='" + difficulty + '\'' +
-                ", category='" + category + '\'' +
+                ", difficulty='" + getDifficulty() + '\'' +
+                ", category='" + getCategory() + '\'' +
                 ", ownerUserId=" + ownerUserId +
-                ", visibility='" + visibility + '\'' +
+                ", visibility='" + getVisibility() + '\'' +
                 '}';
     }
 }
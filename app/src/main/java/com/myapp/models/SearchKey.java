@@ -0,0 +1,180 @@
+package com.myapp.models;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Normalized, immutable search text of a recipe: lowercased and with accents
+ * removed, title first, then description, ingredient names and instructions,
+ * separated so a match never spans two fields. Word starts are recorded once,
+ * so matching a prepared query allocates nothing.
+ *
+ * <p>Queries must go through {@link #normalize} (and {@link #words}) to be
+ * compared with it.
+ */
+public final class SearchKey {
+
+    private static final char FIELD_SEPARATOR = '\n';
+
+    private final String text;
+    private final int titleLength;
+    private final int[] wordStarts;
+    private final int titleWords;
+
+    // What the key was built from, to notice lists changed in place
+    private final List<Ingredient> ingredients;
+    private final int ingredientCount;
+    private final List<String> instructions;
+    private final int instructionCount;
+
+    private SearchKey(Recipe recipe) {
+        StringBuilder sb = new StringBuilder(normalize(recipe.getTitle()));
+        titleLength = sb.length();
+        append(sb, recipe.getDescription());
+        ingredients = recipe.getIngredients();
+        ingredientCount = ingredients == null ? 0 : ingredients.size();
+        for (int i = 0; i < ingredientCount; i++) {
+            Ingredient ingredient = ingredients.get(i);
+            append(sb, ingredient == null ? null : ingredient.getName());
+        }
+        instructions = recipe.getInstructions();
+        instructionCount = instructions == null ? 0 : instructions.size();
+        for (int i = 0; i < instructionCount; i++) {
+            append(sb, instructions.get(i));
+        }
+        text = sb.toString();
+
+        int[] starts = new int[16];
+        int count = 0;
+        int inTitle = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (isWordStart(text, i)) {
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                }
+                starts[count++] = i;
+                if (i < titleLength) {
+                    inTitle++;
+                }
+            }
+        }
+        wordStarts = Arrays.copyOf(starts, count);
+        titleWords = inTitle;
+    }
+
+    static SearchKey of(Recipe recipe) {
+        return new SearchKey(recipe);
+    }
+
+    boolean isCurrentFor(Recipe recipe) {
+        List<Ingredient> currentIngredients = recipe.getIngredients();
+        List<String> currentInstructions = recipe.getInstructions();
+        return currentIngredients == ingredients
+            && (currentIngredients == null ? 0 : currentIngredients.size()) == ingredientCount
+            && currentInstructions == instructions
+            && (currentInstructions == null ? 0 : currentInstructions.size()) == instructionCount;
+    }
+
+    /**
+     * Whether the normalized {@code query} occurs in the title, or with
+     * {@code titleOnly} false in any field.
+     */
+    public boolean contains(String query, boolean titleOnly) {
+        if (!titleOnly) {
+            return text.contains(query);
+        }
+        // Only look inside the title; the rest of the key can be much longer
+        int last = titleLength - query.length();
+        for (int i = 0; i <= last; i++) {
+            if (text.startsWith(query, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether every one of the normalized {@code words} starts some word of
+     * the title, or with {@code titleOnly} false of any field.
+     */
+    public boolean startsWords(String[] words, boolean titleOnly) {
+        int limit = titleOnly ? titleWords : wordStarts.length;
+        for (String word : words) {
+            boolean found = false;
+            for (int i = 0; i < limit && !found; i++) {
+                found = text.startsWith(word, wordStarts[i]);
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Distinct words of the title, or with {@code titleOnly} false of every field. */
+    public Set<String> terms(boolean titleOnly) {
+        int limit = titleOnly ? titleWords : wordStarts.length;
+        Set<String> terms = new HashSet<>();
+        for (int i = 0; i < limit; i++) {
+            terms.add(text.substring(wordStarts[i], wordEnd(text, wordStarts[i])));
+        }
+        return terms;
+    }
+
+    /** Lowercases {@code value} and strips accents; {@code null} becomes empty. */
+    public static String normalize(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        boolean ascii = true;
+        for (int i = 0; i < value.length() && ascii; i++) {
+            ascii = value.charAt(i) < 0x80;
+        }
+        if (ascii) {
+            return value.toLowerCase(Locale.ROOT);
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /** Splits normalized text into its letter-or-digit words. */
+    public static String[] words(String normalized) {
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            if (isWordStart(normalized, i)) {
+                int end = wordEnd(normalized, i);
+                words.add(normalized.substring(i, end));
+                i = end;
+            }
+        }
+        return words.toArray(new String[0]);
+    }
+
+    private static void append(StringBuilder sb, String field) {
+        sb.append(FIELD_SEPARATOR).append(normalize(field));
+    }
+
+    private static boolean isWordStart(String text, int i) {
+        return Character.isLetterOrDigit(text.charAt(i)) && (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)));
+    }
+
+    private static int wordEnd(String text, int start) {
+        int end = start;
+        while (end < text.length() && Character.isLetterOrDigit(text.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+}
@@ -0,0 +1,92 @@
+package com.myapp.models;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only dictionary of canonical strings. Each distinct value gets a
+ * small int code, so repeated values share one String instance and can be
+ * compared as ints. Codes are never reused.
+ *
+ * <p>Values that differ only in case also share a <em>key</em>, the code of
+ * the first such value seen, for case-insensitive equality.
+ */
+public final class SymbolTable {
+
+    /** Code of {@code null}. */
+    public static final int NONE = -1;
+
+    // Low-cardinality recipe and ingredient fields, shared by every model instance
+    public static final SymbolTable CATEGORIES = new SymbolTable();
+    public static final SymbolTable DIFFICULTIES = new SymbolTable();
+    public static final SymbolTable VISIBILITIES = new SymbolTable();
+    public static final SymbolTable UNITS = new SymbolTable();
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private final Map<String, Integer> keysByFoldedValue = new ConcurrentHashMap<>();
+    private volatile String[] symbols = new String[16];
+    private volatile int[] keys = new int[16];
+    private int size;
+
+    public int code(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        synchronized (this) {
+            code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            if (size == symbols.length) {
+                symbols = Arrays.copyOf(symbols, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            symbols[size] = value;
+            keys[size] = keysByFoldedValue.computeIfAbsent(fold(value), k -> size);
+            // Publishing through the map makes the array slots visible to readers holding the code
+            codes.put(value, size);
+            return size++;
+        }
+    }
+
+    /** Returns the canonical instance for {@code code}. */
+    public String symbol(int code) {
+        return code == NONE ? null : symbols[code];
+    }
+
+    /** Returns the canonical instance equal to {@code value}. */
+    public String intern(String value) {
+        return symbol(code(value));
+    }
+
+    /** Code of {@code value} if it is already known, else {@link #NONE}; never adds. */
+    public int lookup(String value) {
+        Integer code = value == null ? null : codes.get(value);
+        return code == null ? NONE : code;
+    }
+
+    /** Case-insensitive key of a code; equal keys mean equalsIgnoreCase values. */
+    public int key(int code) {
+        return code == NONE ? NONE : keys[code];
+    }
+
+    /** Key of any known value equal to {@code value} ignoring case, else {@link #NONE}; never adds. */
+    public int lookupKey(String value) {
+        Integer key = value == null ? null : keysByFoldedValue.get(fold(value));
+        return key == null ? NONE : key;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private static String fold(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
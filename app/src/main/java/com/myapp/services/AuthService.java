@@ -0,0 +1,14 @@
+package com.myapp.services;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.myapp.models.User;
+
+public interface AuthService {
+    User login(String email, String password);
+    User register(String name, String email, String password);
+
+    // Same as above, but database calls run on DaoExecutor and BCrypt on a small worker pool
+    CompletableFuture<User> loginAsync(String email, String password);
+    CompletableFuture<User> registerAsync(String name, String email, String password);
+}
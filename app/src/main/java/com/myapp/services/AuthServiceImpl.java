@@ -0,0 +1,214 @@
+package com.myapp.services;
+
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.mindrot.jbcrypt.BCrypt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.myapp.dao.UserDao;
+import com.myapp.dao.UserDaoImpl;
+import com.myapp.metrics.Metrics;
+import com.myapp.models.User;
+
+public class AuthServiceImpl implements AuthService {
+    private static final Logger LOG = LoggerFactory.getLogger(AuthServiceImpl.class);
+
+    // BCrypt is CPU-bound, so a couple of workers is plenty (lookups and writes run on
+    // DaoExecutor, so they never hold one); the short queue turns
+    // a flood of submissions into fast rejections instead of an ever-growing backlog
+    private static final int AUTH_THREADS = 2;
+    private static final int AUTH_QUEUE_CAPACITY = 8;
+    private static final ExecutorService AUTH_EXECUTOR = new ThreadPoolExecutor(
+        AUTH_THREADS, AUTH_THREADS, 30, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(AUTH_QUEUE_CAPACITY),
+        r -> {
+            Thread t = new Thread(r, "auth-worker");
+            t.setDaemon(true);
+            return t;
+        },
+        new ThreadPoolExecutor.AbortPolicy());
+
+    // Shared across instances: 20 attempts burst / 10 per second overall, 5 failures burst / 1 per 12 s per email,
+    // unknown emails remembered for 30 s
+    private static final LoginThrottle LOGIN_THROTTLE = new LoginThrottle(20, 10.0, 5, 1.0 / 12, 30_000);
+
+    private final UserDao userDao = Metrics.instrument(UserDao.class, new UserDaoImpl());
+
+    public static LoginThrottle.ThrottleStats getLoginStats() {
+        return LOGIN_THROTTLE.getStats();
+    }
+
+    // Runs BCrypt cost calibration ahead of the first login so the user does not wait for it
+    public static void calibrateInBackground() {
+        try {
+            AUTH_EXECUTOR.execute(BCryptCostCalibrator::targetCost);
+        } catch (RejectedExecutionException ignore) {
+            // calibration will happen on first use instead
+        }
+    }
+
+    // Detect whether the stored password is a BCrypt hash
+    private static boolean isBCryptHash(String s) {
+        if (s == null) return false;
+        return (s.startsWith("$2a$") || s.startsWith("$2b$") || s.startsWith("$2y$")) && s.length() >= 56;
+    }
+
+    @Override
+    public User login(String email, String password) {
+        String emailKey = admit(email, password);
+        if (emailKey == null) {
+            return null;
+        }
+        User existing = findForLogin(email.trim(), emailKey);
+        if (existing == null) {
+            return null;
+        }
+        PasswordCheck check = verify(existing, password.trim());
+        if (!check.ok()) {
+            LOGIN_THROTTLE.recordFailure(emailKey);
+        }
+        if (check.upgradedHash() != null) {
+            storeHash(existing, check.upgradedHash());
+        }
+        return check.ok() ? existing : null;
+    }
+
+    // Cheap checks before any query or hash; null when the attempt cannot succeed
+    private static String admit(String email, String password) {
+        if (email == null || email.isBlank() || password == null || password.isBlank()) {
+            return null;
+        }
+        // Reject floods before paying for a query or a hash
+        String emailKey = email.trim().toLowerCase(Locale.ROOT);
+        LOGIN_THROTTLE.admit(emailKey);
+        if (LOGIN_THROTTLE.isKnownUnknown(emailKey)) {
+            return null;
+        }
+        return emailKey;
+    }
+
+    private User findForLogin(String email, String emailKey) {
+        User existing = userDao.findByEmail(email);
+        if (existing == null) {
+            LOGIN_THROTTLE.rememberUnknown(emailKey);
+            LOGIN_THROTTLE.recordFailure(emailKey);
+        }
+        return existing;
+    }
+
+    // CPU only: verifies the password (BCrypt or legacy plain text) and computes any hash upgrade
+    private static PasswordCheck verify(User existing, String raw) {
+        String stored = existing.getPassword();
+        if (stored == null || stored.isBlank()) {
+            return new PasswordCheck(false, null);
+        }
+        try {
+            if (isBCryptHash(stored)) {
+                boolean ok = BCrypt.checkpw(raw, stored);
+                // Hash made on other hardware (or with the old fixed cost): bring it to this machine's target
+                boolean stale = ok && BCryptCostCalibrator.costOf(stored) != BCryptCostCalibrator.targetCost();
+                return new PasswordCheck(ok, stale ? hash(raw) : null);
+            }
+            // Legacy accounts saved as plain text: auto-migrate to a hash
+            boolean ok = stored.equals(raw);
+            return new PasswordCheck(ok, ok ? hash(raw) : null);
+        } catch (IllegalArgumentException iae) {
+            // e.g., invalid salt version -> treat as mismatch
+            return new PasswordCheck(false, null);
+        }
+    }
+
+    private record PasswordCheck(boolean ok, String upgradedHash) {
+    }
+
+    private static String hash(String raw) {
+        return BCrypt.hashpw(raw, BCrypt.gensalt(BCryptCostCalibrator.targetCost()));
+    }
+
+    private void storeHash(User user, String newHash) {
+        try {
+            userDao.updatePasswordHash(user.getId(), newHash);
+            user.setPassword(newHash);
+        } catch (RuntimeException e) {
+            // The old hash still verifies; try again on the next login
+            LOG.warn("Failed to upgrade password hash for user {}: {}", user.getId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public User register(String name, String email, String password) {
+        if (name == null || name.isBlank() || email == null || email.isBlank() || password == null || password.isBlank()) {
+            throw new IllegalArgumentException("Invalid registration data");
+        }
+        // Hash the password before storing
+        return create(new User(name.trim(), email.trim(), hash(password.trim())));
+    }
+
+    private User create(User user) {
+        // Rely on DB unique constraint; DAO will throw IllegalArgumentException for duplicates
+        User created = userDao.create(user);
+        LOGIN_THROTTLE.forgetUnknown(user.getEmail().toLowerCase(Locale.ROOT));
+        return created;
+    }
+
+    // The database stages run on DaoExecutor virtual threads; only BCrypt occupies the auth workers
+
+    @Override
+    public CompletableFuture<User> loginAsync(String email, String password) {
+        String emailKey;
+        try {
+            emailKey = admit(email, password);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (emailKey == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        String raw = password.trim();
+        return DaoExecutor.supply(() -> findForLogin(email.trim(), emailKey))
+            .thenCompose(existing -> existing == null
+                ? CompletableFuture.completedFuture(null)
+                : submit(() -> verify(existing, raw)).thenCompose(check -> finishLogin(existing, emailKey, check)));
+    }
+
+    private CompletableFuture<User> finishLogin(User existing, String emailKey, PasswordCheck check) {
+        if (!check.ok()) {
+            LOGIN_THROTTLE.recordFailure(emailKey);
+        }
+        if (check.upgradedHash() == null) {
+            return CompletableFuture.completedFuture(check.ok() ? existing : null);
+        }
+        return DaoExecutor.run(() -> storeHash(existing, check.upgradedHash()))
+            .handle((ignored, error) -> {
+                if (error != null) {
+                    LOG.warn("Failed to upgrade password hash for user {}: {}", existing.getId(), error.getMessage());
+                }
+                return check.ok() ? existing : null;
+            });
+    }
+
+    @Override
+    public CompletableFuture<User> registerAsync(String name, String email, String password) {
+        if (name == null || name.isBlank() || email == null || email.isBlank() || password == null || password.isBlank()) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Invalid registration data"));
+        }
+        return submit(() -> new User(name.trim(), email.trim(), hash(password.trim())))
+            .thenCompose(user -> DaoExecutor.supply(() -> create(user)));
+    }
+
+    private static <T> CompletableFuture<T> submit(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, AUTH_EXECUTOR);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Too many requests, please try again", e));
+        }
+    }
+}
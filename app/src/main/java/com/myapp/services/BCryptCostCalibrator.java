@@ -0,0 +1,62 @@
+package com.myapp.services;
+
+import org.mindrot.jbcrypt.BCrypt;
+
+/**
+ * Picks the BCrypt work factor for this machine: the highest cost whose hash
+ * time stays within {@link #TARGET_HASH_MILLIS}, never below {@link #MIN_COST}.
+ * Calibration runs once, on first use.
+ */
+public final class BCryptCostCalibrator {
+
+    static final long TARGET_HASH_MILLIS = 250;
+    static final int MIN_COST = 10;
+    static final int MAX_COST = 16;
+
+    // Cheap enough to measure quickly, expensive enough to time reliably
+    private static final int PROBE_COST = 8;
+    private static final int PROBE_ROUNDS = 3;
+
+    private BCryptCostCalibrator() {
+    }
+
+    private static final class Holder {
+        private static final int COST = calibrate();
+    }
+
+    public static int targetCost() {
+        return Holder.COST;
+    }
+
+    static int calibrate() {
+        // Warm-up so JIT compilation does not count against the probe
+        BCrypt.hashpw("calibration", BCrypt.gensalt(PROBE_COST));
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", BCrypt.gensalt(PROBE_COST));
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        // Each cost step doubles the work
+        double probeMillis = Math.max(best / 1_000_000.0, 0.01);
+        int cost = PROBE_COST;
+        double millis = probeMillis;
+        while (cost < MAX_COST && millis * 2 <= TARGET_HASH_MILLIS) {
+            cost++;
+            millis *= 2;
+        }
+        return Math.max(MIN_COST, cost);
+    }
+
+    /** Returns the cost encoded in a hash such as {@code $2a$12$...}, or -1 if unreadable. */
+    static int costOf(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(3) != '$' || hash.charAt(6) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hash.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
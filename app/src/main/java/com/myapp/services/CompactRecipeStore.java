@@ -0,0 +1,340 @@
+package com.myapp.services;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.myapp.models.Ingredient;
+import com.myapp.models.Recipe;
+import com.myapp.models.SymbolTable;
+
+/**
+ * Read-optimized, immutable snapshot of a recipe catalogue in columnar form.
+ *
+ * <p>Recipe headers live in parallel primitive arrays sorted by id;
+ * category, difficulty, visibility and units keep the codes of the shared
+ * {@link SymbolTable}s, and ingredient names are codes into the store's own
+ * table. Ingredients and steps of all
+ * recipes sit in flat arrays addressed through per-recipe offsets. {@link Recipe}
+ * objects are only created when a caller asks for one.
+ */
+public final class CompactRecipeStore {
+
+    private static final int NO_OWNER = Integer.MIN_VALUE;
+
+    // Ingredient names; the low-cardinality fields use the shared tables
+    private final SymbolTable names;
+
+    // Recipe columns, one slot per recipe
+    private final int[] ids;
+    private final String[] titles;
+    private final String[] descriptions;
+    private final int[] preparationTimes;
+    private final int[] cookingTimes;
+    private final int[] servings;
+    private final int[] difficultyCodes;
+    private final int[] categoryCodes;
+    private final int[] ownerUserIds;
+    private final int[] visibilityCodes;
+    private final boolean[] detailsLoaded;
+
+    // Ingredients of recipe i are [ingredientStart[i], ingredientStart[i + 1])
+    private final int[] ingredientStart;
+    private final int[] ingredientIds;
+    private final int[] ingredientNameCodes;
+    private final double[] ingredientQuantities;
+    private final int[] ingredientUnitCodes;
+    private final String[] ingredientNotes;
+
+    // Steps of recipe i are [stepStart[i], stepStart[i + 1])
+    private final int[] stepStart;
+    private final String[] stepTexts;
+
+    private CompactRecipeStore(List<Recipe> recipes, SymbolTable names) {
+        this.names = names;
+        List<Recipe> sorted = new ArrayList<>(recipes.size());
+        for (Recipe recipe : recipes) {
+            if (recipe != null && recipe.getId() != null) {
+                sorted.add(recipe);
+            }
+        }
+        sorted.sort(Comparator.comparing(Recipe::getId));
+
+        int n = sorted.size();
+        ids = new int[n];
+        titles = new String[n];
+        descriptions = new String[n];
+        preparationTimes = new int[n];
+        cookingTimes = new int[n];
+        servings = new int[n];
+        difficultyCodes = new int[n];
+        categoryCodes = new int[n];
+        ownerUserIds = new int[n];
+        visibilityCodes = new int[n];
+        detailsLoaded = new boolean[n];
+        ingredientStart = new int[n + 1];
+        stepStart = new int[n + 1];
+
+        int ingredientCount = 0;
+        int stepCount = 0;
+        for (int i = 0; i < n; i++) {
+            Recipe recipe = sorted.get(i);
+            ingredientStart[i] = ingredientCount;
+            stepStart[i] = stepCount;
+            ingredientCount += recipe.getIngredients() == null ? 0 : recipe.getIngredients().size();
+            stepCount += recipe.getInstructions() == null ? 0 : recipe.getInstructions().size();
+        }
+        ingredientStart[n] = ingredientCount;
+        stepStart[n] = stepCount;
+
+        ingredientIds = new int[ingredientCount];
+        ingredientNameCodes = new int[ingredientCount];
+        ingredientQuantities = new double[ingredientCount];
+        ingredientUnitCodes = new int[ingredientCount];
+        ingredientNotes = new String[ingredientCount];
+        stepTexts = new String[stepCount];
+
+        for (int i = 0; i < n; i++) {
+            Recipe recipe = sorted.get(i);
+            ids[i] = recipe.getId();
+            titles[i] = recipe.getTitle();
+            descriptions[i] = recipe.getDescription();
+            preparationTimes[i] = recipe.getPreparationTime();
+            cookingTimes[i] = recipe.getCookingTime();
+            servings[i] = recipe.getServings();
+            difficultyCodes[i] = recipe.getDifficultyCode();
+            categoryCodes[i] = recipe.getCategoryCode();
+            ownerUserIds[i] = recipe.getOwnerUserId() == null ? NO_OWNER : recipe.getOwnerUserId();
+            visibilityCodes[i] = recipe.getVisibilityCode();
+            detailsLoaded[i] = recipe.isDetailsLoaded();
+
+            int slot = ingredientStart[i];
+            if (recipe.getIngredients() != null) {
+                for (Ingredient ing : recipe.getIngredients()) {
+                    ingredientIds[slot] = ing.getId() == null ? 0 : ing.getId();
+                    ingredientNameCodes[slot] = names.code(ing.getName());
+                    ingredientQuantities[slot] = ing.getQuantity();
+                    ingredientUnitCodes[slot] = ing.getUnitCode();
+                    ingredientNotes[slot] = ing.getNotes() == null || ing.getNotes().isEmpty() ? null : ing.getNotes();
+                    slot++;
+                }
+            }
+            slot = stepStart[i];
+            if (recipe.getInstructions() != null) {
+                for (String text : recipe.getInstructions()) {
+                    stepTexts[slot++] = text;
+                }
+            }
+        }
+    }
+
+    /** Copies {@code recipes} (those with an id) into a new store; later changes to them are not seen. */
+    public static CompactRecipeStore of(List<Recipe> recipes) {
+        return new CompactRecipeStore(recipes, new SymbolTable());
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /** Position of the recipe with this id, or -1. */
+    public int indexOf(int id) {
+        int index = Arrays.binarySearch(ids, id);
+        return index >= 0 ? index : -1;
+    }
+
+    public String title(int index) {
+        return titles[index];
+    }
+
+    public int categoryCode(int index) {
+        return categoryCodes[index];
+    }
+
+    /**
+     * Positions of the recipes in {@code category} (ignoring case), in id
+     * order. The category is resolved to its key once; the scan compares ints.
+     */
+    public int[] indicesInCategory(String category) {
+        int key = SymbolTable.CATEGORIES.lookupKey(category);
+        if (key == SymbolTable.NONE) {
+            return new int[0];
+        }
+        int[] matches = new int[16];
+        int count = 0;
+        for (int i = 0; i < categoryCodes.length; i++) {
+            if (SymbolTable.CATEGORIES.key(categoryCodes[i]) == key) {
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, count * 2);
+                }
+                matches[count++] = i;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /** Materializes a new {@link Recipe} for the recipe at {@code index}. */
+    public Recipe get(int index) {
+        Recipe recipe = new Recipe();
+        recipe.setId(ids[index]);
+        recipe.setTitle(titles[index]);
+        recipe.setDescription(descriptions[index]);
+        recipe.setPreparationTime(preparationTimes[index]);
+        recipe.setCookingTime(cookingTimes[index]);
+        recipe.setServings(servings[index]);
+        recipe.setDifficulty(SymbolTable.DIFFICULTIES.symbol(difficultyCodes[index]));
+        recipe.setCategory(SymbolTable.CATEGORIES.symbol(categoryCodes[index]));
+        recipe.setOwnerUserId(ownerUserIds[index] == NO_OWNER ? null : ownerUserIds[index]);
+        recipe.setVisibility(SymbolTable.VISIBILITIES.symbol(visibilityCodes[index]));
+        recipe.setDetailsLoaded(detailsLoaded[index]);
+
+        List<Ingredient> ingredients = new ArrayList<>(ingredientStart[index + 1] - ingredientStart[index]);
+        for (int slot = ingredientStart[index]; slot < ingredientStart[index + 1]; slot++) {
+            Ingredient ing = new Ingredient(names.symbol(ingredientNameCodes[slot]),
+                ingredientQuantities[slot], SymbolTable.UNITS.symbol(ingredientUnitCodes[slot]));
+            ing.setId(ingredientIds[slot] == 0 ? null : ingredientIds[slot]);
+            ing.setNotes(ingredientNotes[slot]);
+            ingredients.add(ing);
+        }
+        recipe.setIngredients(ingredients);
+        recipe.setInstructions(new ArrayList<>(Arrays.asList(stepTexts).subList(stepStart[index], stepStart[index + 1])));
+        return recipe;
+    }
+
+    /**
+     * Read-only list view in id order; each {@code get} materializes a fresh
+     * {@link Recipe}, nothing is cached.
+     */
+    public List<Recipe> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Recipe get(int index) {
+                return CompactRecipeStore.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return ids.length;
+            }
+        };
+    }
+
+    /** Estimated heap footprint of this store versus the same recipes as model objects. */
+    public FootprintReport footprint(List<Recipe> objectModel) {
+        return new FootprintReport(size(), HeapEstimate.of(this), HeapEstimate.of(objectModel));
+    }
+
+    public record FootprintReport(int recipes, long compactBytes, long objectModelBytes) {
+        public double ratio() {
+            return compactBytes == 0 ? 0 : (double) objectModelBytes / compactBytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d recipes: object model ~%,d KB, compact store ~%,d KB (%.1fx smaller)",
+                recipes, objectModelBytes / 1024, compactBytes / 1024, ratio());
+        }
+    }
+
+    /**
+     * Shallow-size arithmetic for a 64-bit HotSpot JVM with compressed oops
+     * and compact (Latin-1) strings: 12-byte object headers, 4-byte
+     * references, 16-byte array headers, 8-byte alignment. Strings held by
+     * the shared symbol tables are common to both layouts and not counted;
+     * other strings are counted per occurrence, as rows read through JDBC
+     * each hold their own copies.
+     */
+    static final class HeapEstimate {
+        private static final int HEADER = 12;
+        private static final int ARRAY_HEADER = 16;
+        private static final int REF = 4;
+        // Integer cache covers -128..127; larger ids are separate objects
+        private static final int BOXED_INT = align(HEADER + 4);
+
+        private HeapEstimate() {
+        }
+
+        static long of(CompactRecipeStore store) {
+            int n = store.ids.length;
+            int ing = store.ingredientIds.length;
+            long bytes = align(HEADER + 22 * REF);
+            // int[] columns: ids, prep, cook, servings, 3 codes, owners, 2 offset arrays
+            bytes += 8L * intArray(n) + 2L * intArray(n + 1) + align(ARRAY_HEADER + n);
+            bytes += 2L * refArray(n) + strings(store.titles) + strings(store.descriptions);
+            bytes += 3L * intArray(ing) + align(ARRAY_HEADER + 8L * ing);
+            bytes += refArray(ing) + strings(store.ingredientNotes);
+            bytes += refArray(store.stepTexts.length) + strings(store.stepTexts);
+            for (int code = 0; code < store.names.size(); code++) {
+                bytes += string(store.names.symbol(code));
+            }
+            return bytes;
+        }
+
+        static long of(List<Recipe> recipes) {
+            long bytes = 0;
+            for (Recipe r : recipes) {
+                // Recipe: id + 5 references, 6 ints (3 of them symbol codes), boolean
+                bytes += align(HEADER + 6 * REF + 6 * 4 + 1);
+                bytes += boxed(r.getId()) + boxed(r.getOwnerUserId());
+                bytes += string(r.getTitle()) + string(r.getDescription());
+                List<Ingredient> ingredients = r.getIngredients();
+                if (ingredients != null) {
+                    bytes += arrayList(ingredients.size());
+                    for (Ingredient ing : ingredients) {
+                        // Ingredient: id + 2 references, unit code, double
+                        bytes += align(HEADER + 3 * REF + 4 + 8) + boxed(ing.getId());
+                        bytes += string(ing.getName()) + string(ing.getNotes());
+                    }
+                }
+                List<String> steps = r.getInstructions();
+                if (steps != null) {
+                    bytes += arrayList(steps.size());
+                    for (String step : steps) {
+                        bytes += string(step);
+                    }
+                }
+            }
+            return bytes;
+        }
+
+        private static long boxed(Integer value) {
+            return value == null || (value >= -128 && value <= 127) ? 0 : BOXED_INT;
+        }
+
+        private static long strings(String[] values) {
+            long bytes = 0;
+            for (String s : values) {
+                bytes += string(s);
+            }
+            return bytes;
+        }
+
+        private static long string(String s) {
+            // String object (hash, coder, value ref, hashIsZero) + byte[]
+            return s == null ? 0 : align(HEADER + 4 + 1 + REF + 1) + align(ARRAY_HEADER + s.length());
+        }
+
+        private static long arrayList(int size) {
+            // ArrayList object + backing array (assume it was grown to fit exactly)
+            return align(HEADER + 4 + 4 + REF) + refArray(size);
+        }
+
+        private static long intArray(int length) {
+            return align(ARRAY_HEADER + 4L * length);
+        }
+
+        private static long refArray(int length) {
+            return align(ARRAY_HEADER + (long) REF * length);
+        }
+
+        private static long align(long bytes) {
+            return (bytes + 7) & ~7L;
+        }
+
+        private static int align(int bytes) {
+            return (bytes + 7) & ~7;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.myapp.services;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.myapp.config.DatabaseConfig;
+import com.myapp.metrics.Metrics;
+
+/**
+ * Runs blocking DAO work on virtual threads, one per call. A fair semaphore
+ * sized like the connection pool sits in front of it, so a burst of calls
+ * parks cheap virtual threads here instead of piling up on the pool; a call
+ * that cannot get a permit within the pool's acquire timeout fails.
+ */
+public final class DaoExecutor {
+
+    private static final ExecutorService EXECUTOR =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dao-", 0).factory());
+    private static final Semaphore PERMITS = new Semaphore(DatabaseConfig.getMaxPoolSize(), true);
+
+    static {
+        Metrics.gauge("dao.inFlight", () -> DatabaseConfig.getMaxPoolSize() - PERMITS.availablePermits());
+        Metrics.gauge("dao.waiting", PERMITS::getQueueLength);
+    }
+
+    private DaoExecutor() {
+    }
+
+    /**
+     * Runs {@code work} with a permit. Cancelling the returned future before
+     * the work starts releases the permit without running it, so no
+     * connection is borrowed; work already running is not interrupted.
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        EXECUTOR.execute(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                acquire();
+                try {
+                    // Cancelled while waiting for the permit
+                    if (!result.isDone()) {
+                        result.complete(work.get());
+                    }
+                } finally {
+                    PERMITS.release();
+                }
+            } catch (Throwable t) {
+                result.completeExceptionally(t instanceof CompletionException ? t : new CompletionException(t));
+            }
+        });
+        return result;
+    }
+
+    public static CompletableFuture<Void> run(Runnable work) {
+        return supply(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    private static void acquire() {
+        try {
+            if (!PERMITS.tryAcquire(DatabaseConfig.getAcquireTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Too many database requests, please try again");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the database", e);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.myapp.services;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for login attempts, applied before any database lookup
+ * or BCrypt work: a global token bucket caps total hashing load, a bucket per
+ * email caps guessing against one account, and a short-lived negative cache
+ * answers repeated attempts for unknown emails without a query. The per-email
+ * bucket is only charged by {@link #recordFailure}, so successful logins
+ * never count against an account.
+ */
+public class LoginThrottle {
+
+    private static final int MAX_TRACKED_EMAILS = 10_000;
+
+    private final TokenBucket global;
+    private final int perEmailCapacity;
+    private final double perEmailRefillPerSecond;
+    private final long negativeTtlMillis;
+
+    private final Map<String, TokenBucket> perEmail = lruMap();
+    private final Map<String, Long> unknownEmails = lruMap();
+
+    private final AtomicLong attempts = new AtomicLong();
+    private final AtomicLong rejectedGlobal = new AtomicLong();
+    private final AtomicLong rejectedPerEmail = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+
+    public LoginThrottle(int globalCapacity, double globalRefillPerSecond,
+                         int perEmailCapacity, double perEmailRefillPerSecond,
+                         long negativeTtlMillis) {
+        this.global = new TokenBucket(globalCapacity, globalRefillPerSecond);
+        this.perEmailCapacity = perEmailCapacity;
+        this.perEmailRefillPerSecond = perEmailRefillPerSecond;
+        this.negativeTtlMillis = negativeTtlMillis;
+    }
+
+    /**
+     * Records an attempt and throws if it must be rejected. The global bucket
+     * is checked first, so a globally rejected attempt costs the account
+     * nothing.
+     */
+    public void admit(String emailKey) {
+        attempts.incrementAndGet();
+        if (!global.tryAcquire()) {
+            rejectedGlobal.incrementAndGet();
+            throw new IllegalStateException("Too many login attempts, please try again shortly");
+        }
+        TokenBucket bucket;
+        synchronized (perEmail) {
+            bucket = perEmail.get(emailKey);
+        }
+        if (bucket != null && !bucket.hasToken()) {
+            rejectedPerEmail.incrementAndGet();
+            throw new IllegalStateException("Too many login attempts for this account, please wait a moment");
+        }
+    }
+
+    /** Charges a failed attempt (unknown email or wrong password) to the email's bucket. */
+    public void recordFailure(String emailKey) {
+        TokenBucket bucket;
+        synchronized (perEmail) {
+            bucket = perEmail.computeIfAbsent(emailKey,
+                k -> new TokenBucket(perEmailCapacity, perEmailRefillPerSecond));
+        }
+        bucket.tryAcquire();
+    }
+
+    public boolean isKnownUnknown(String emailKey) {
+        synchronized (unknownEmails) {
+            Long expiresAt = unknownEmails.get(emailKey);
+            if (expiresAt == null) {
+                return false;
+            }
+            if (expiresAt < System.currentTimeMillis()) {
+                unknownEmails.remove(emailKey);
+                return false;
+            }
+        }
+        negativeHits.incrementAndGet();
+        return true;
+    }
+
+    public void rememberUnknown(String emailKey) {
+        synchronized (unknownEmails) {
+            unknownEmails.put(emailKey, System.currentTimeMillis() + negativeTtlMillis);
+        }
+    }
+
+    public void forgetUnknown(String emailKey) {
+        synchronized (unknownEmails) {
+            unknownEmails.remove(emailKey);
+        }
+    }
+
+    public ThrottleStats getStats() {
+        return new ThrottleStats(attempts.get(), rejectedGlobal.get(), rejectedPerEmail.get(), negativeHits.get());
+    }
+
+    public record ThrottleStats(long attempts, long rejectedGlobal, long rejectedPerEmail, long negativeCacheHits) {
+    }
+
+    private static <V> Map<String, V> lruMap() {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > MAX_TRACKED_EMAILS;
+            }
+        };
+    }
+
+    /**
+     * Classic token bucket: holds up to {@code capacity} tokens, refilled
+     * continuously at {@code refillPerSecond}.
+     */
+    static final class TokenBucket {
+        private final double capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerNano = refillPerSecond / 1_000_000_000.0;
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        synchronized boolean tryAcquire() {
+            refill();
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized boolean hasToken() {
+            refill();
+            return tokens >= 1;
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.myapp.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+import com.myapp.models.Recipe;
+
+/**
+ * Filters a recipe list on a {@link ForkJoinPool}, splitting it in halves
+ * down to {@code sequentialThreshold} recipes per task. Lists no larger than
+ * the threshold are filtered on the calling thread. Matches keep the order of
+ * the input list. The predicate must be safe to call from several threads.
+ */
+public class ParallelRecipeFilter {
+
+    // -Dsearch.parallelism / -Dsearch.sequentialThreshold tune the shared instance
+    static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+    static final int DEFAULT_SEQUENTIAL_THRESHOLD = 2048;
+
+    private final ForkJoinPool pool;
+    private final int sequentialThreshold;
+
+    public ParallelRecipeFilter(ForkJoinPool pool, int sequentialThreshold) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        if (sequentialThreshold < 1) {
+            throw new IllegalArgumentException("Sequential threshold must be positive");
+        }
+        this.pool = pool;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    private static final class Holder {
+        private static final ParallelRecipeFilter SHARED = new ParallelRecipeFilter(
+            new ForkJoinPool(Math.max(1, Integer.getInteger("search.parallelism", DEFAULT_PARALLELISM))),
+            Math.max(1, Integer.getInteger("search.sequentialThreshold", DEFAULT_SEQUENTIAL_THRESHOLD)));
+    }
+
+    /** Instance used by {@link SearchMode#PARALLEL_SCAN}; its pool threads are daemons. */
+    public static ParallelRecipeFilter shared() {
+        return Holder.SHARED;
+    }
+
+    public List<Recipe> filter(List<Recipe> recipes, Predicate<Recipe> predicate) {
+        if (recipes == null || recipes.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // Splitting relies on cheap positional access
+        List<Recipe> source = recipes instanceof RandomAccess ? recipes : new ArrayList<>(recipes);
+        if (source.size() <= sequentialThreshold) {
+            return filterRange(source, 0, source.size(), predicate);
+        }
+        return pool.invoke(new FilterTask(source, 0, source.size(), predicate, sequentialThreshold));
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public int getSequentialThreshold() {
+        return sequentialThreshold;
+    }
+
+    private static List<Recipe> filterRange(List<Recipe> recipes, int from, int to, Predicate<Recipe> predicate) {
+        List<Recipe> matches = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            Recipe recipe = recipes.get(i);
+            if (predicate.test(recipe)) {
+                matches.add(recipe);
+            }
+        }
+        return matches;
+    }
+
+    // ForkJoinTask is Serializable, but tasks never leave the pool
+    @SuppressWarnings("serial")
+    private static final class FilterTask extends RecursiveTask<List<Recipe>> {
+        private final List<Recipe> recipes;
+        private final int from;
+        private final int to;
+        private final Predicate<Recipe> predicate;
+        private final int threshold;
+
+        FilterTask(List<Recipe> recipes, int from, int to, Predicate<Recipe> predicate, int threshold) {
+            this.recipes = recipes;
+            this.from = from;
+            this.to = to;
+            this.predicate = predicate;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected List<Recipe> compute() {
+            if (to - from <= threshold) {
+                return filterRange(recipes, from, to, predicate);
+            }
+            int mid = (from + to) >>> 1;
+            FilterTask left = new FilterTask(recipes, from, mid, predicate, threshold);
+            left.fork();
+            List<Recipe> right = new FilterTask(recipes, mid, to, predicate, threshold).compute();
+            // Left half first keeps the input order
+            List<Recipe> matches = left.join();
+            matches.addAll(right);
+            return matches;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.myapp.services;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import com.myapp.models.Recipe;
+
+/**
+ * Read-through cache for recipe reads, keyed by what was read and for which
+ * visibility scope (the logged-in user id, or null when logged out).
+ * Entries expire after a TTL and the least recently used entry is evicted
+ * once the cache is full.
+ */
+public class RecipeCache {
+
+    public enum Kind {
+        ALL,
+        SUMMARIES,
+        CATEGORIES
+    }
+
+    private record Key(Kind kind, Integer userId) {
+    }
+
+    private static final class Entry {
+        private final List<?> value;
+        private final Set<Integer> recipeIds; // null when the value is not a recipe list
+        private final long expiresAt;
+
+        private Entry(List<?> value, Set<Integer> recipeIds, long expiresAt) {
+            this.value = value;
+            this.recipeIds = recipeIds;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LinkedHashMap<Key, Entry> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+    // Bumped on every invalidation so a load that raced with a write is not cached
+    private long generation;
+
+    public RecipeCache(int maxEntries, long ttlMillis) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be greater than 0");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        // Access order turns the map into an LRU list
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > RecipeCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public List<Recipe> getRecipes(Kind kind, Integer userId, Supplier<List<Recipe>> loader) {
+        return get(kind, userId, loader, true);
+    }
+
+    public List<String> getStrings(Kind kind, Integer userId, Supplier<List<String>> loader) {
+        return get(kind, userId, loader, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> get(Kind kind, Integer userId, Supplier<List<T>> loader, boolean recipes) {
+        Key key = new Key(kind, userId);
+        long loadGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+                hits++;
+                return new ArrayList<>((List<T>) entry.value);
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+
+        // Load outside the lock so one slow query does not stall other scopes
+        List<T> loaded = loader.get();
+        List<T> copy = loaded == null ? new ArrayList<>() : new ArrayList<>(loaded);
+        Set<Integer> ids = null;
+        if (recipes) {
+            ids = new HashSet<>();
+            for (T item : copy) {
+                Recipe recipe = (Recipe) item;
+                if (recipe != null && recipe.getId() != null) {
+                    ids.add(recipe.getId());
+                }
+            }
+        }
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                entries.put(key, new Entry(copy, ids, System.currentTimeMillis() + ttlMillis));
+            }
+        }
+        return new ArrayList<>(copy);
+    }
+
+    /**
+     * Drops the scopes a saved recipe could have changed: those that held it
+     * before and those that can see it now.
+     */
+    public synchronized void invalidateSaved(Recipe recipe) {
+        if (recipe == null) {
+            return;
+        }
+        invalidateScopes(recipe.getId(), recipe);
+    }
+
+    public synchronized void invalidateDeleted(Integer id) {
+        invalidateScopes(id, null);
+    }
+
+    public synchronized void clear() {
+        generation++;
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    private void invalidateScopes(Integer id, Recipe current) {
+        generation++;
+        // Which scopes held the recipe, and which have no id list to tell (categories only)
+        Set<Integer> touched = new HashSet<>();
+        Set<Integer> withIds = new HashSet<>();
+        for (Map.Entry<Key, Entry> e : entries.entrySet()) {
+            Set<Integer> ids = e.getValue().recipeIds;
+            if (ids != null) {
+                withIds.add(e.getKey().userId());
+                if (id != null && ids.contains(id)) {
+                    touched.add(e.getKey().userId());
+                }
+            }
+        }
+
+        Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Integer scope = it.next().getKey().userId();
+            boolean affected = touched.contains(scope)
+                || !withIds.contains(scope)
+                || (current != null && isVisibleTo(current, scope));
+            if (affected) {
+                it.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    private static boolean isVisibleTo(Recipe recipe, Integer userId) {
+        String visibility = recipe.getVisibility();
+        if (visibility == null || visibility.isEmpty() || "PUBLIC".equalsIgnoreCase(visibility)) {
+            return true;
+        }
+        return userId != null && Objects.equals(userId, recipe.getOwnerUserId());
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(entries.size(), hits, misses, evictions, invalidations);
+    }
+
+    public record CacheStats(int size, long hits, long misses, long evictions, long invalidations) {
+    }
+}
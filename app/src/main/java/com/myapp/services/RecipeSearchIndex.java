@@ -0,0 +1,175 @@
+package com.myapp.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.myapp.models.Recipe;
+import com.myapp.models.SearchKey;
+
+/**
+ * In-memory inverted index over recipe text. Terms are the words of each
+ * recipe's {@link SearchKey}, so lowercased and without accents; every query
+ * token matches as a prefix and all query tokens must match. Titles are
+ * indexed separately so short queries can stay title-only.
+ *
+ * <p>A compact index keeps the recipes of the last {@link #rebuild} in a
+ * {@link CompactRecipeStore} and materializes only the matches of each
+ * search; recipes upserted since are held as objects until the next rebuild.
+ */
+public class RecipeSearchIndex {
+
+    private final NavigableMap<String, Set<Integer>> titlePostings = new TreeMap<>();
+    private final NavigableMap<String, Set<Integer>> allPostings = new TreeMap<>();
+    private final Map<Integer, Recipe> recipes = new HashMap<>();
+    private final Map<Integer, Set<String>> titleTermsById = new HashMap<>();
+    private final Map<Integer, Set<String>> allTermsById = new HashMap<>();
+    private final boolean compact;
+    private CompactRecipeStore store = CompactRecipeStore.of(List.of());
+
+    public RecipeSearchIndex() {
+        this(false);
+    }
+
+    public RecipeSearchIndex(boolean compact) {
+        this.compact = compact;
+    }
+
+    public synchronized void rebuild(List<Recipe> visible) {
+        titlePostings.clear();
+        allPostings.clear();
+        recipes.clear();
+        titleTermsById.clear();
+        allTermsById.clear();
+        List<Recipe> list = visible == null ? List.of() : visible;
+        store = CompactRecipeStore.of(compact ? list : List.of());
+        for (Recipe recipe : list) {
+            add(recipe, !compact);
+        }
+    }
+
+    public synchronized void upsert(Recipe recipe) {
+        if (recipe == null || recipe.getId() == null) {
+            return;
+        }
+        remove(recipe.getId());
+        add(recipe, true);
+    }
+
+    public synchronized void remove(Integer id) {
+        if (id == null || !titleTermsById.containsKey(id)) {
+            return;
+        }
+        recipes.remove(id);
+        unpost(titlePostings, titleTermsById.remove(id), id);
+        unpost(allPostings, allTermsById.remove(id), id);
+    }
+
+    public synchronized int size() {
+        return titleTermsById.size();
+    }
+
+    /**
+     * Returns matching recipes in id order. With {@code titleOnly} only title
+     * terms are consulted.
+     */
+    public synchronized List<Recipe> search(String query, boolean titleOnly) {
+        String[] tokens = SearchKey.words(SearchKey.normalize(query));
+        if (tokens.length == 0) {
+            return Collections.emptyList();
+        }
+        NavigableMap<String, Set<Integer>> postings = titleOnly ? titlePostings : allPostings;
+
+        Set<Integer> result = null;
+        for (String token : tokens) {
+            Set<Integer> matches = new HashSet<>();
+            // Prefix lookup: every term in [token, token + max char) starts with token
+            for (Set<Integer> ids : postings.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+                if (result == null) {
+                    matches.addAll(ids);
+                } else {
+                    for (Integer id : ids) {
+                        if (result.contains(id)) {
+                            matches.add(id);
+                        }
+                    }
+                }
+            }
+            result = matches;
+            if (result.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+
+        List<Recipe> found = new ArrayList<>(result.size());
+        for (Integer id : new TreeSet<>(result)) {
+            found.add(recipe(id));
+        }
+        return found;
+    }
+
+    private Recipe recipe(Integer id) {
+        Recipe recipe = recipes.get(id);
+        return recipe != null ? recipe : store.get(store.indexOf(id));
+    }
+
+    /**
+     * Applies the {@link #search} rules to a single recipe, for callers that
+     * filter an earlier result instead of querying the index. {@code words}
+     * come from {@link SearchKey#words} of a normalized query. Public for the
+     * benchmarks.
+     */
+    public static boolean matches(Recipe recipe, String[] words, boolean titleOnly) {
+        if (recipe == null || words.length == 0) {
+            return false;
+        }
+        return recipe.getSearchKey().startsWords(words, titleOnly);
+    }
+
+    private void add(Recipe recipe, boolean keep) {
+        if (recipe == null || recipe.getId() == null) {
+            return;
+        }
+        Integer id = recipe.getId();
+        if (keep) {
+            recipes.put(id, recipe);
+        }
+
+        SearchKey key = recipe.getSearchKey();
+        Set<String> titleTerms = key.terms(true);
+        Set<String> allTerms = key.terms(false);
+
+        post(titlePostings, titleTerms, id);
+        post(allPostings, allTerms, id);
+        titleTermsById.put(id, titleTerms);
+        allTermsById.put(id, allTerms);
+    }
+
+    private static void post(Map<String, Set<Integer>> postings, Set<String> terms, Integer id) {
+        for (String term : terms) {
+            postings.computeIfAbsent(term, t -> new HashSet<>()).add(id);
+        }
+    }
+
+    private static void unpost(Map<String, Set<Integer>> postings, Set<String> terms, Integer id) {
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Set<Integer> ids = postings.get(term);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.myapp.services;
+
+import com.myapp.dao.RecipeSort;
+import com.myapp.models.Recipe;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+public interface RecipeService {
+    List<Recipe> getAllRecipes();
+    List<Recipe> getRecipeSummaries();
+    List<Recipe> getRecipeSummaryPage(RecipeSort sort, boolean descending, Recipe after, int pageSize);
+    List<String> getCategories();
+    Recipe loadDetails(Recipe recipe);
+    Optional<Recipe> getRecipeById(Integer id);
+    Recipe saveRecipe(Recipe recipe);
+    void deleteRecipe(Integer id);
+    List<Recipe> searchRecipes(String query);
+
+    /**
+     * Most recipes {@link #searchRecipes} returns. A result of this size may
+     * be missing matches; a longer query narrows it.
+     */
+    int getSearchResultLimit();
+
+    /**
+     * Tests whether a recipe would be part of {@code searchRecipes(query)}
+     * under the current search mode. The query is prepared once, so testing
+     * each recipe allocates nothing.
+     */
+    Predicate<Recipe> searchMatcher(String query);
+
+    /**
+     * Whether every result of {@code query} is already among the
+     * {@code previousResultCount} results of {@code previousQuery}, so those
+     * can be narrowed with {@link #searchMatcher} instead of searching again.
+     * Never true while searches go to the database.
+     */
+    boolean isSearchRefinement(String previousQuery, int previousResultCount, String query);
+
+    List<Recipe> getRecipesByCategory(String category);
+
+    // Same as above, but the database work runs on a virtual thread (see DaoExecutor)
+    CompletableFuture<List<Recipe>> getAllRecipesAsync();
+    CompletableFuture<List<Recipe>> getRecipeSummaryPageAsync(RecipeSort sort, boolean descending, Recipe after,
+                                                              int pageSize);
+    CompletableFuture<List<String>> getCategoriesAsync();
+    CompletableFuture<Recipe> loadDetailsAsync(Recipe recipe);
+    CompletableFuture<Optional<Recipe>> getRecipeByIdAsync(Integer id);
+    CompletableFuture<Recipe> saveRecipeAsync(Recipe recipe);
+    CompletableFuture<Void> deleteRecipeAsync(Integer id);
+    CompletableFuture<List<Recipe>> searchRecipesAsync(String query);
+
+    /**
+     * Warms whatever the current search mode answers from, for the current
+     * user. With {@code -Dsearch.warmIndex=true} this builds the in-memory
+     * index, after which AUTO searches no longer go to the database;
+     * otherwise it completes immediately.
+     */
+    CompletableFuture<Void> prepareSearchAsync();
+}
\ No newline at end of file
@@ -0,0 +1,441 @@
+package com.myapp.services;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.myapp.dao.RecipeDao;
+import com.myapp.dao.RecipeDaoImpl;
+import com.myapp.dao.RecipeSort;
+import com.myapp.metrics.Metrics;
+import com.myapp.models.Recipe;
+import com.myapp.models.SearchKey;
+import com.myapp.models.SymbolTable;
+
+public class RecipeServiceImpl implements RecipeService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RecipeServiceImpl.class);
+    // -Dsearch.compactStore=true keeps the indexed recipes columnar instead of as Recipe objects
+    private static final boolean COMPACT_STORE = Boolean.getBoolean("search.compactStore");
+    // Shared by every controller's service instance; replaced when the visibility scope (user) changes.
+    // Guarded by the class monitor, which is never held while loading recipes.
+    private static RecipeSearchIndex searchIndex = new RecipeSearchIndex(COMPACT_STORE);
+    private static Integer indexedUserId;
+    private static boolean indexBuilt;
+    // Bumped by every change to the indexed recipes, so a rebuild that loaded before it is not installed
+    private static long indexGeneration;
+
+    // Every search mode returns at most this many recipes
+    private static final int SEARCH_RESULT_LIMIT = 1000;
+
+    // -Dsearch.warmIndex=true builds the in-memory index in the background after login, so AUTO
+    // answers from memory; off by default because it loads every visible recipe with its children
+    private static final boolean WARM_INDEX = Boolean.getBoolean("search.warmIndex");
+
+    // Set when the database turns out to have no FULLTEXT search (e.g. migration not applied); later
+    // searches go straight to the index instead of paying a failed round trip each. Other failures,
+    // such as a pool timeout, fail only the search that hit them. Cleared only by a restart.
+    private static volatile boolean databaseSearchUnavailable;
+
+    // Shared read-through cache of visible recipe lists, one set of entries per user scope
+    private static final RecipeCache RECIPE_CACHE = new RecipeCache(64, 60_000);
+
+    // Symbol tables are filled from the database once per process, in the background
+    private static final AtomicBoolean SYMBOLS_LOADED = new AtomicBoolean();
+
+    // -Dsearch.mode=SCAN|PARALLEL_SCAN|INDEX|DATABASE|AUTO picks the mode of new service instances
+    private static final SearchMode DEFAULT_SEARCH_MODE = searchModeProperty();
+
+    private final RecipeDao recipeDao;
+    private SearchMode searchMode = DEFAULT_SEARCH_MODE;
+
+    public RecipeServiceImpl() {
+        this.recipeDao = Metrics.instrument(RecipeDao.class, new RecipeDaoImpl());
+        // The first instance is created on the FX thread; the DISTINCT scans must not block it
+        if (SYMBOLS_LOADED.compareAndSet(false, true)) {
+            DaoExecutor.run(recipeDao::loadSymbols).exceptionally(error -> {
+                // Not fatal: unknown values are added to the tables as rows are mapped
+                LOG.warn("Failed to preload recipe symbols", error);
+                return null;
+            });
+        }
+    }
+
+    public SearchMode getSearchMode() {
+        return searchMode;
+    }
+
+    public void setSearchMode(SearchMode searchMode) {
+        this.searchMode = searchMode == null ? DEFAULT_SEARCH_MODE : searchMode;
+    }
+
+    private static SearchMode searchModeProperty() {
+        String value = System.getProperty("search.mode");
+        if (value == null || value.isBlank()) {
+            return SearchMode.AUTO;
+        }
+        try {
+            return SearchMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Unknown search.mode '{}', using AUTO", value);
+            return SearchMode.AUTO;
+        }
+    }
+
+    @Override
+    public List<Recipe> getAllRecipes() {
+        Integer userId = currentUserId();
+        return RECIPE_CACHE.getRecipes(RecipeCache.Kind.ALL, userId,
+            () -> dedupeById(recipeDao.findAllVisibleForUser(userId)));
+    }
+
+    public static RecipeCache.CacheStats getCacheStats() {
+        return RECIPE_CACHE.getStats();
+    }
+
+    // For writes that bypass saveRecipe/deleteRecipe, such as bulk import
+    static void invalidateCaches() {
+        RECIPE_CACHE.clear();
+        synchronized (RecipeServiceImpl.class) {
+            indexBuilt = false;
+            indexGeneration++;
+        }
+    }
+
+    private Integer currentUserId() {
+        if (SessionManager.isLoggedIn() && SessionManager.getCurrentUser() != null) {
+            return SessionManager.getCurrentUser().getId();
+        }
+        return null;
+    }
+
+    @Override
+    public List<Recipe> getRecipeSummaries() {
+        Integer userId = currentUserId();
+        return RECIPE_CACHE.getRecipes(RecipeCache.Kind.SUMMARIES, userId,
+            () -> dedupeById(recipeDao.findSummariesVisibleForUser(userId)));
+    }
+
+    @Override
+    public List<Recipe> getRecipeSummaryPage(RecipeSort sort, boolean descending, Recipe after, int pageSize) {
+        return recipeDao.findSummaryPage(currentUserId(), sort, descending, after, pageSize);
+    }
+
+    @Override
+    public List<String> getCategories() {
+        Integer userId = currentUserId();
+        return RECIPE_CACHE.getStrings(RecipeCache.Kind.CATEGORIES, userId,
+            () -> recipeDao.findCategoriesVisibleForUser(userId));
+    }
+
+    @Override
+    public Recipe loadDetails(Recipe recipe) {
+        if (recipe == null || recipe.isDetailsLoaded() || recipe.getId() == null) {
+            return recipe;
+        }
+        return recipeDao.findById(recipe.getId()).orElse(recipe);
+    }
+
+    @Override
+    public Optional<Recipe> getRecipeById(Integer id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return recipeDao.findById(id);
+    }
+
+    @Override
+    public Recipe saveRecipe(Recipe recipe) {
+        if (recipe == null) {
+            throw new IllegalArgumentException("Recipe cannot be null");
+        }
+        Recipe saved;
+        try {
+            saved = recipeDao.save(recipe);
+        } catch (RuntimeException e) {
+            // Edit dialogs change cached instances in place; drop them so unsaved edits are not served
+            discardUnsavedEdits(recipe);
+            throw e;
+        }
+        RECIPE_CACHE.invalidateSaved(saved);
+        updateSearchIndex(saved);
+        return saved;
+    }
+
+    private static void discardUnsavedEdits(Recipe recipe) {
+        RECIPE_CACHE.invalidateSaved(recipe);
+        if (recipe.getId() != null) {
+            synchronized (RecipeServiceImpl.class) {
+                // The plain index may hold the same instance, posted under its old terms
+                indexBuilt = false;
+                indexGeneration++;
+            }
+        }
+    }
+
+    @Override
+    public void deleteRecipe(Integer id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Recipe ID cannot be null");
+        }
+        recipeDao.delete(id);
+        RECIPE_CACHE.invalidateDeleted(id);
+        synchronized (RecipeServiceImpl.class) {
+            searchIndex.remove(id);
+            indexGeneration++;
+        }
+    }
+
+    @Override
+    public List<Recipe> searchRecipes(String query) {
+        if (query == null || query.trim().isEmpty()) {
+            // Nothing to match against child rows, so the header projection is enough
+            return getRecipeSummaries();
+        }
+
+        // Lowercased without accents for every mode: the in-memory ones compare against each
+        // recipe's SearchKey, and MySQL's accent-insensitive collations match it the same way
+        String normalizedQuery = SearchKey.normalize(query).trim();
+        boolean shortQuery = normalizedQuery.length() <= 2; // for very short queries, be strict
+        Integer userId = currentUserId();
+        SearchMode mode = effectiveSearchMode(userId);
+        if (mode == SearchMode.DATABASE) {
+            try {
+                return recipeDao.searchVisible(userId, normalizedQuery, SEARCH_RESULT_LIMIT);
+            } catch (UnsupportedOperationException e) {
+                databaseSearchUnavailable = true;
+                LOG.warn("Full-text search unavailable, using the in-memory index from now on: {}", e.getMessage());
+                mode = SearchMode.INDEX;
+            }
+        }
+        if (mode == SearchMode.INDEX) {
+            return limit(searchIndex(userId).search(normalizedQuery, shortQuery));
+        }
+        if (mode == SearchMode.PARALLEL_SCAN) {
+            return limit(dedupeById(ParallelRecipeFilter.shared().filter(getAllRecipes(),
+                recipe -> scanMatches(recipe, normalizedQuery, shortQuery))));
+        }
+        // Search only in the set of visible recipes for current user
+        return limit(dedupeById(
+            getAllRecipes().stream()
+                .filter(recipe -> scanMatches(recipe, normalizedQuery, shortQuery))
+                .collect(Collectors.toList())
+        ));
+    }
+
+    // AUTO: a warm index answers without a round trip; otherwise the database does, unless it cannot
+    private SearchMode effectiveSearchMode(Integer userId) {
+        SearchMode mode = searchMode;
+        if (mode == SearchMode.AUTO) {
+            mode = isSearchIndexReady(userId) ? SearchMode.INDEX : SearchMode.DATABASE;
+        }
+        if (mode == SearchMode.DATABASE && databaseSearchUnavailable) {
+            mode = SearchMode.INDEX;
+        }
+        return mode;
+    }
+
+    private static List<Recipe> limit(List<Recipe> recipes) {
+        return recipes.size() <= SEARCH_RESULT_LIMIT ? recipes : recipes.subList(0, SEARCH_RESULT_LIMIT);
+    }
+
+    @Override
+    public int getSearchResultLimit() {
+        return SEARCH_RESULT_LIMIT;
+    }
+
+    @Override
+    public Predicate<Recipe> searchMatcher(String query) {
+        String normalizedQuery = SearchKey.normalize(query).trim();
+        if (normalizedQuery.isEmpty()) {
+            return recipe -> false;
+        }
+        boolean shortQuery = normalizedQuery.length() <= 2;
+        if (searchMode == SearchMode.SCAN || searchMode == SearchMode.PARALLEL_SCAN) {
+            return recipe -> scanMatches(recipe, normalizedQuery, shortQuery);
+        }
+        // Every query word as a word prefix, as the index does; FULLTEXT results are never narrowed
+        String[] words = SearchKey.words(normalizedQuery);
+        return recipe -> RecipeSearchIndex.matches(recipe, words, shortQuery);
+    }
+
+    @Override
+    public boolean isSearchRefinement(String previousQuery, int previousResultCount, String query) {
+        if (previousQuery == null || query == null) {
+            return false;
+        }
+        String previous = SearchKey.normalize(previousQuery).trim();
+        String current = SearchKey.normalize(query).trim();
+        if (previous.isEmpty() || !current.startsWith(previous)) {
+            return false;
+        }
+        // FULLTEXT needs all words in one column group and skips stopwords and short words, so
+        // narrowing its results with searchMatcher could differ from a fresh search
+        if (effectiveSearchMode(currentUserId()) == SearchMode.DATABASE) {
+            return false;
+        }
+        // Short queries only look at titles: growing past 2 characters widens the fields searched
+        if (previous.length() <= 2 && current.length() > 2) {
+            return false;
+        }
+        // A capped result is not the complete set
+        return previousResultCount < SEARCH_RESULT_LIMIT;
+    }
+
+    /** SCAN rule: short queries must occur in the title, longer ones in any text field. Public for the benchmarks. */
+    public static boolean scanMatches(Recipe recipe, String normalizedQuery, boolean shortQuery) {
+        return recipe != null && recipe.getSearchKey().contains(normalizedQuery, shortQuery);
+    }
+
+    @Override
+    public List<Recipe> getRecipesByCategory(String category) {
+        if (category == null || category.trim().isEmpty()) {
+            return getRecipeSummaries();
+        }
+
+        // Filter only visible recipes for current user
+        List<Recipe> summaries = getRecipeSummaries();
+        // Looked up after loading, which registers every visible category
+        int categoryKey = SymbolTable.CATEGORIES.lookupKey(category);
+        if (categoryKey == SymbolTable.NONE) {
+            return List.of();
+        }
+        return dedupeById(
+            summaries.stream()
+                .filter(recipe ->
+                    recipe != null &&
+                    SymbolTable.CATEGORIES.key(recipe.getCategoryCode()) == categoryKey
+            )
+            .collect(Collectors.toList())
+        );
+    }
+
+    private static boolean isSearchIndexReady(Integer userId) {
+        synchronized (RecipeServiceImpl.class) {
+            return indexBuilt && Objects.equals(indexedUserId, userId);
+        }
+    }
+
+    private RecipeSearchIndex searchIndex(Integer userId) {
+        long generation;
+        synchronized (RecipeServiceImpl.class) {
+            if (indexBuilt && Objects.equals(indexedUserId, userId)) {
+                return searchIndex;
+            }
+            generation = indexGeneration;
+        }
+        // Loading the catalogue is database I/O: searches and saves must not wait on the monitor for it
+        RecipeSearchIndex built = new RecipeSearchIndex(COMPACT_STORE);
+        built.rebuild(getAllRecipes());
+        synchronized (RecipeServiceImpl.class) {
+            // A write or another rebuild since the load: answer this search, but do not install it
+            if (generation == indexGeneration) {
+                searchIndex = built;
+                indexedUserId = userId;
+                indexBuilt = true;
+                indexGeneration++;
+            }
+        }
+        return built;
+    }
+
+    private void updateSearchIndex(Recipe saved) {
+        synchronized (RecipeServiceImpl.class) {
+            indexGeneration++;
+            if (!indexBuilt || saved == null) {
+                return;
+            }
+            boolean visible = saved.getVisibility() == null || saved.getVisibility().isEmpty()
+                || "PUBLIC".equalsIgnoreCase(saved.getVisibility())
+                || (indexedUserId != null && indexedUserId.equals(saved.getOwnerUserId()));
+            if (visible && saved.isDetailsLoaded()) {
+                searchIndex.upsert(saved);
+            } else if (visible) {
+                // A summary has no children to index; rebuild lazily on the next search
+                indexBuilt = false;
+            } else {
+                searchIndex.remove(saved.getId());
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<Recipe>> getAllRecipesAsync() {
+        return DaoExecutor.supply(this::getAllRecipes);
+    }
+
+    @Override
+    public CompletableFuture<List<Recipe>> getRecipeSummaryPageAsync(RecipeSort sort, boolean descending, Recipe after,
+                                                                     int pageSize) {
+        return DaoExecutor.supply(() -> getRecipeSummaryPage(sort, descending, after, pageSize));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> getCategoriesAsync() {
+        return DaoExecutor.supply(this::getCategories);
+    }
+
+    @Override
+    public CompletableFuture<Recipe> loadDetailsAsync(Recipe recipe) {
+        return DaoExecutor.supply(() -> loadDetails(recipe));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Recipe>> getRecipeByIdAsync(Integer id) {
+        return DaoExecutor.supply(() -> getRecipeById(id));
+    }
+
+    @Override
+    public CompletableFuture<Recipe> saveRecipeAsync(Recipe recipe) {
+        return DaoExecutor.supply(() -> saveRecipe(recipe));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteRecipeAsync(Integer id) {
+        return DaoExecutor.run(() -> deleteRecipe(id));
+    }
+
+    @Override
+    public CompletableFuture<List<Recipe>> searchRecipesAsync(String query) {
+        return DaoExecutor.supply(() -> searchRecipes(query));
+    }
+
+    @Override
+    public CompletableFuture<Void> prepareSearchAsync() {
+        if (!WARM_INDEX || searchMode == SearchMode.SCAN || searchMode == SearchMode.PARALLEL_SCAN) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Integer userId = currentUserId();
+        return DaoExecutor.run(() -> searchIndex(userId));
+    }
+
+    /** Keeps the first recipe of each id, in order, then those without an id. Public for the benchmarks. */
+    public static List<Recipe> dedupeById(List<Recipe> recipes) {
+        if (recipes == null || recipes.isEmpty()) return recipes;
+        Map<Integer, Recipe> byId = recipes.stream()
+            .filter(r -> r != null && r.getId() != null)
+            .collect(Collectors.toMap(
+                Recipe::getId,
+                r -> r,
+                (a, b) -> a,
+                LinkedHashMap::new
+            ));
+        // Keep any without IDs as-is after the ID-based items
+        List<Recipe> withoutId = recipes.stream()
+            .filter(r -> r != null && r.getId() == null)
+            .collect(Collectors.toList());
+        List<Recipe> result = new java.util.ArrayList<>(byId.values());
+        result.addAll(withoutId);
+        return result;
+        }
+}
\ No newline at end of file
@@ -0,0 +1,209 @@
+package com.myapp.services;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.myapp.dao.RecipeDao;
+import com.myapp.dao.RecipeDaoImpl;
+import com.myapp.dao.RecipeSort;
+import com.myapp.metrics.Metrics;
+import com.myapp.models.Ingredient;
+import com.myapp.models.Recipe;
+
+/**
+ * Streaming bulk import and export of recipes as CSV.
+ *
+ * <p>Each recipe is an {@code R} record followed by its {@code I} (ingredient)
+ * and {@code S} (step) records, so neither side needs the whole corpus in memory:
+ * <pre>
+ * R,title,description,preparation_time,cooking_time,servings,difficulty,category,visibility
+ * I,name,quantity,unit,notes
+ * S,text
+ * </pre>
+ * Lines starting with {@code #} are ignored.
+ */
+public class RecipeTransferService {
+
+    private static final int IMPORT_BATCH_SIZE = 500;
+    private static final int EXPORT_PAGE_SIZE = 500;
+
+    private final RecipeDao recipeDao;
+
+    public RecipeTransferService() {
+        this.recipeDao = Metrics.instrument(RecipeDao.class, new RecipeDaoImpl());
+    }
+
+    /**
+     * Imports recipes owned by the current user, committing every
+     * {@value #IMPORT_BATCH_SIZE} recipes. A failing batch aborts the import;
+     * batches committed before it stay.
+     */
+    public TransferResult importCsv(Reader in) throws IOException {
+        long start = System.nanoTime();
+        Integer ownerId = requireCurrentUserId("import");
+        RecipeCsv.CsvReader reader = new RecipeCsv.CsvReader(in);
+        List<Recipe> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        long recipes = 0;
+        long ingredients = 0;
+        long steps = 0;
+        int recordNo = 0;
+        Recipe current = null;
+
+        try {
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                recordNo++;
+                String type = record.get(0).trim();
+                if (type.isEmpty() || type.startsWith("#")) {
+                    continue;
+                }
+                switch (type) {
+                    case "R":
+                        if (batch.size() == IMPORT_BATCH_SIZE) {
+                            recipeDao.insertBatch(batch);
+                            batch.clear();
+                        }
+                        current = parseRecipe(record, recordNo);
+                        current.setOwnerUserId(ownerId);
+                        batch.add(current);
+                        recipes++;
+                        break;
+                    case "I":
+                        requireRecipe(current, recordNo).addIngredient(parseIngredient(record, recordNo));
+                        ingredients++;
+                        break;
+                    case "S":
+                        String text = field(record, 1);
+                        requireRecipe(current, recordNo).addInstruction(text);
+                        // insertBatch skips blank steps; count only the rows actually written
+                        if (!text.isBlank()) {
+                            steps++;
+                        }
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Record " + recordNo + ": unknown record type '" + type + "'");
+                }
+            }
+            if (!batch.isEmpty()) {
+                recipeDao.insertBatch(batch);
+            }
+        } finally {
+            if (recipes > 0) {
+                RecipeServiceImpl.invalidateCaches();
+            }
+        }
+        return new TransferResult(recipes, ingredients, steps, System.nanoTime() - start);
+    }
+
+    /**
+     * Writes the recipes the current user owns, a page at a time. Other users'
+     * public recipes are left out: importing the file assigns every recipe
+     * to the importing user.
+     */
+    public TransferResult exportCsv(Writer out) throws IOException {
+        long start = System.nanoTime();
+        Integer userId = requireCurrentUserId("export");
+        long recipes = 0;
+        long ingredients = 0;
+        long steps = 0;
+
+        out.write("# R,title,description,preparation_time,cooking_time,servings,difficulty,category,visibility\n");
+        Recipe after = null;
+        while (true) {
+            List<Recipe> page = recipeDao.findOwnedPage(userId, RecipeSort.ID, false, after, EXPORT_PAGE_SIZE);
+            for (Recipe recipe : page) {
+                RecipeCsv.writeRecord(out, "R", recipe.getTitle(), recipe.getDescription(),
+                    String.valueOf(recipe.getPreparationTime()), String.valueOf(recipe.getCookingTime()),
+                    String.valueOf(recipe.getServings()), recipe.getDifficulty(), recipe.getCategory(),
+                    recipe.getVisibility());
+                recipes++;
+                for (Ingredient ing : recipe.getIngredients()) {
+                    RecipeCsv.writeRecord(out, "I", ing.getName(), String.valueOf(ing.getQuantity()),
+                        ing.getUnit(), ing.getNotes());
+                    ingredients++;
+                }
+                for (String text : recipe.getInstructions()) {
+                    RecipeCsv.writeRecord(out, "S", text);
+                    steps++;
+                }
+            }
+            if (page.size() < EXPORT_PAGE_SIZE) {
+                break;
+            }
+            after = page.get(page.size() - 1);
+        }
+        out.flush();
+        return new TransferResult(recipes, ingredients, steps, System.nanoTime() - start);
+    }
+
+    private static Integer requireCurrentUserId(String action) {
+        if (!SessionManager.isLoggedIn() || SessionManager.getCurrentUser() == null
+                || SessionManager.getCurrentUser().getId() == null) {
+            throw new IllegalStateException("A logged-in user is required to " + action + " recipes");
+        }
+        return SessionManager.getCurrentUser().getId();
+    }
+
+    private static Recipe parseRecipe(List<String> record, int recordNo) {
+        Recipe recipe = new Recipe();
+        recipe.setTitle(field(record, 1));
+        recipe.setDescription(field(record, 2));
+        recipe.setPreparationTime(intField(record, 3, recordNo));
+        recipe.setCookingTime(intField(record, 4, recordNo));
+        recipe.setServings(intField(record, 5, recordNo));
+        recipe.setDifficulty(field(record, 6));
+        recipe.setCategory(field(record, 7));
+        String visibility = field(record, 8);
+        recipe.setVisibility(visibility.isEmpty() ? "PRIVATE" : visibility.toUpperCase());
+        return recipe;
+    }
+
+    private static Ingredient parseIngredient(List<String> record, int recordNo) {
+        Ingredient ing = new Ingredient();
+        ing.setName(field(record, 1));
+        String qty = field(record, 2);
+        if (!qty.isEmpty()) {
+            try {
+                ing.setQuantity(Double.parseDouble(qty));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Record " + recordNo + ": invalid quantity '" + qty + "'");
+            }
+        }
+        ing.setUnit(field(record, 3));
+        ing.setNotes(field(record, 4));
+        return ing;
+    }
+
+    private static Recipe requireRecipe(Recipe current, int recordNo) {
+        if (current == null) {
+            throw new IllegalArgumentException("Record " + recordNo + ": ingredient or step before any recipe");
+        }
+        return current;
+    }
+
+    private static String field(List<String> record, int index) {
+        return index < record.size() ? record.get(index).trim() : "";
+    }
+
+    private static int intField(List<String> record, int index, int recordNo) {
+        String value = field(record, index);
+        try {
+            return value.isEmpty() ? 0 : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Record " + recordNo + ": invalid number '" + value + "'");
+        }
+    }
+
+    public record TransferResult(long recipes, long ingredients, long steps, long elapsedNanos) {
+        public long rows() {
+            return recipes + ingredients + steps;
+        }
+
+        public double rowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : rows() * 1_000_000_000.0 / elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.myapp.services;
+
+/**
+ * How {@link RecipeServiceImpl#searchRecipes(String)} answers a query.
+ */
+public enum SearchMode {
+    // Load every visible recipe and substring-match title, description, ingredients and instructions
+    SCAN,
+    // SCAN split across a fork-join pool once the visible set exceeds a threshold; same results and order
+    PARALLEL_SCAN,
+    // Token-prefix lookups in the shared in-memory inverted index
+    INDEX,
+    // FULLTEXT query in MySQL; only matching rows are transferred
+    DATABASE,
+    // INDEX when it is already built for the current user, DATABASE otherwise
+    AUTO
+}
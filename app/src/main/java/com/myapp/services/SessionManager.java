@@ -3,7 +3,8 @@ package com.myapp.services;
 import com.myapp.models.User;
 
 public class SessionManager {
-    private static User currentUser;
+    // Read from background search/load threads as well as the FX thread
+    private static volatile User currentUser;
 
     public static User getCurrentUser() {
         return currentUser;
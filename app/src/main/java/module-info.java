@@ -4,9 +4,11 @@ module com.myapp.recipemanagement {
     requires org.controlsfx.controls;
     requires java.sql;
     requires java.desktop;
+    requires java.management;
     requires org.kordamp.ikonli.javafx;
     requires org.kordamp.ikonli.core;
     requires jbcrypt;
+    requires org.slf4j;
     
     opens com.myapp to javafx.graphics, javafx.fxml;
     opens com.myapp.controllers to javafx.fxml;
@@ -19,4 +21,5 @@ module com.myapp.recipemanagement {
     // repositories removed in favor of DAO layer
     exports com.myapp.services;
     exports com.myapp.dao;
+    exports com.myapp.metrics;
 }
@@ -0,0 +1,230 @@
+package com.myapp.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.myapp.config.DatabaseConfig;
+import com.myapp.metrics.Counter;
+import com.myapp.metrics.Metrics;
+import com.myapp.models.Ingredient;
+import com.myapp.models.Recipe;
+
+class RecipeDaoImplTest {
+
+    private static final Counter QUERIES = Metrics.counter("db.queries");
+
+    private RecipeDaoImpl dao;
+
+    @BeforeEach
+    void setUp() {
+        TestDatabase.reset();
+        dao = new RecipeDaoImpl();
+    }
+
+    @Test
+    void titleOnlyUpdateIssuesNoChildStatements() {
+        Recipe recipe = dao.save(recipe("Soup", List.of("Chop", "Boil", "Serve"), "Onion", "Carrot"));
+
+        recipe.setTitle("Better soup");
+        long before = QUERIES.get();
+        dao.save(recipe);
+
+        // UPDATE recipe plus one SELECT per child table to diff against
+        assertEquals(3, QUERIES.get() - before);
+        Recipe stored = reload(recipe);
+        assertEquals("Better soup", stored.getTitle());
+        assertEquals(List.of("Chop", "Boil", "Serve"), stored.getInstructions());
+        assertEquals(ids(recipe), ids(stored));
+    }
+
+    @Test
+    void reorderedStepsAreStoredInNewOrder() {
+        Recipe recipe = dao.save(recipe("Bread", List.of("Mix", "Knead", "Bake"), "Flour"));
+
+        recipe.setInstructions(new ArrayList<>(List.of("Knead", "Mix", "Bake")));
+        long before = QUERIES.get();
+        dao.save(recipe);
+
+        // Two loads plus one batched UPDATE for steps 1 and 2; step 3 is untouched
+        assertEquals(4, QUERIES.get() - before);
+        assertEquals(List.of("Knead", "Mix", "Bake"), reload(recipe).getInstructions());
+    }
+
+    @Test
+    void stepInsertedInTheMiddle() {
+        Recipe recipe = dao.save(recipe("Tea", List.of("Boil", "Pour"), "Tea leaves"));
+
+        recipe.setInstructions(new ArrayList<>(List.of("Boil", "Steep", "Pour")));
+        dao.save(recipe);
+
+        assertEquals(List.of("Boil", "Steep", "Pour"), reload(recipe).getInstructions());
+    }
+
+    @Test
+    void stepDeletedFromTheMiddle() {
+        Recipe recipe = dao.save(recipe("Tea", List.of("Boil", "Steep", "Pour"), "Tea leaves"));
+
+        recipe.setInstructions(new ArrayList<>(List.of("Boil", "Pour")));
+        dao.save(recipe);
+
+        assertEquals(List.of("Boil", "Pour"), reload(recipe).getInstructions());
+        assertEquals(List.of(1, 2), stepNumbers(recipe.getId()));
+    }
+
+    @Test
+    void nonContiguousStoredStepsAreRenumbered() throws SQLException {
+        Recipe recipe = dao.save(recipe("Salad", List.of("Wash", "Cut"), "Lettuce"));
+        // Leave a gap as an older version of the app could: steps 1 and 3
+        execute("UPDATE instruction SET step_number = 3 WHERE recipe_id = ? AND step_number = 2", recipe.getId());
+
+        recipe.setInstructions(new ArrayList<>(List.of("Wash", "Dry", "Cut")));
+        dao.save(recipe);
+
+        assertEquals(List.of("Wash", "Dry", "Cut"), reload(recipe).getInstructions());
+        assertEquals(List.of(1, 2, 3), stepNumbers(recipe.getId()));
+
+        execute("UPDATE instruction SET step_number = 5 WHERE recipe_id = ? AND step_number = 3", recipe.getId());
+        recipe.setInstructions(new ArrayList<>(List.of("Wash", "Cut")));
+        dao.save(recipe);
+
+        assertEquals(List.of("Wash", "Cut"), reload(recipe).getInstructions());
+        assertEquals(List.of(1, 2), stepNumbers(recipe.getId()));
+    }
+
+    @Test
+    void removingFirstIngredientKeepsTheOthers() {
+        Recipe recipe = dao.save(recipe("Stew", List.of("Simmer"), "Beef", "Potato", "Carrot"));
+        List<Integer> before = ids(recipe);
+
+        List<Ingredient> remaining = new ArrayList<>(recipe.getIngredients());
+        remaining.remove(0);
+        recipe.setIngredients(remaining);
+        long queries = QUERIES.get();
+        dao.save(recipe);
+
+        // Two loads plus one DELETE; the surviving rows keep their ids and are not rewritten
+        assertEquals(4, QUERIES.get() - queries);
+        Recipe stored = reload(recipe);
+        assertEquals(before.subList(1, 3), ids(stored));
+        assertEquals(List.of("Potato", "Carrot"), stored.getIngredients().stream().map(Ingredient::getName).toList());
+    }
+
+    @Test
+    void newIngredientWithoutIdIsInserted() {
+        Recipe recipe = dao.save(recipe("Stew", List.of("Simmer"), "Beef"));
+        Integer beefId = recipe.getIngredients().get(0).getId();
+
+        recipe.addIngredient(new Ingredient("Onion", 1, "pcs"));
+        dao.save(recipe);
+
+        Recipe stored = reload(recipe);
+        assertEquals(2, stored.getIngredients().size());
+        assertEquals(beefId, stored.getIngredients().get(0).getId());
+        assertEquals("Onion", stored.getIngredients().get(1).getName());
+    }
+
+    @Test
+    void keysetPagesFollowTheSortOrder() {
+        for (String title : List.of("Pie", "Bread", "Apple", "Pie", "Cake", "Bread", "Soup")) {
+            dao.save(recipe(title, List.of("Cook"), "Salt"));
+        }
+        for (RecipeSort sort : RecipeSort.values()) {
+            for (boolean descending : new boolean[] {false, true}) {
+                List<Recipe> all = dao.findSummaryPage(null, sort, descending, null, 100);
+                List<Recipe> paged = new ArrayList<>();
+                Recipe after = null;
+                List<Recipe> page;
+                do {
+                    page = dao.findSummaryPage(null, sort, descending, after, 3);
+                    paged.addAll(page);
+                    after = page.isEmpty() ? null : page.get(page.size() - 1);
+                } while (page.size() == 3);
+
+                String label = sort.name() + (descending ? " DESC" : "");
+                assertEquals(7, all.size());
+                assertEquals(all.stream().map(Recipe::getId).toList(), paged.stream().map(Recipe::getId).toList(), label);
+                if (sort == RecipeSort.TITLE) {
+                    assertEquals(descending ? "Soup" : "Apple", all.get(0).getTitle(), label);
+                }
+            }
+        }
+    }
+
+    @Test
+    void ownedPagesCarryChildrenAndSkipOtherOwners() throws SQLException {
+        for (int id = 1; id <= 2; id++) {
+            execute("INSERT INTO users (id, name, email, password) VALUES (?, 'User', CONCAT('u', ?, '@example.com'), 'x')", id);
+        }
+        for (int i = 0; i < 5; i++) {
+            Recipe mine = recipe("Dish " + i, List.of("Prep", "Cook"), "Salt", "Pepper");
+            mine.setOwnerUserId(1);
+            dao.save(mine);
+            Recipe theirs = recipe("Other " + i, List.of("Cook"), "Salt");
+            theirs.setOwnerUserId(2);
+            dao.save(theirs);
+        }
+        List<Recipe> firstPage = dao.findOwnedPage(1, RecipeSort.ID, false, null, 3);
+        List<Recipe> rest = dao.findOwnedPage(1, RecipeSort.ID, false, firstPage.get(2), 3);
+
+        Recipe first = firstPage.get(0);
+        assertEquals("Dish 0 description", first.getDescription());
+        assertEquals(List.of("Prep", "Cook"), first.getInstructions());
+        assertEquals(2, first.getIngredients().size());
+        assertEquals(List.of("Dish 3", "Dish 4"), rest.stream().map(Recipe::getTitle).toList());
+    }
+
+    private static Recipe recipe(String title, List<String> steps, String... ingredients) {
+        Recipe recipe = new Recipe(title, "Main", 10, 20, 2, "Easy", title + " description", "");
+        recipe.setInstructions(new ArrayList<>(steps));
+        List<Ingredient> list = new ArrayList<>();
+        for (String name : ingredients) {
+            list.add(new Ingredient(name, 1, "g"));
+        }
+        recipe.setIngredients(list);
+        recipe.setVisibility("PUBLIC");
+        return recipe;
+    }
+
+    private Recipe reload(Recipe recipe) {
+        return dao.findById(recipe.getId()).orElseThrow();
+    }
+
+    private static List<Integer> ids(Recipe recipe) {
+        return recipe.getIngredients().stream().map(Ingredient::getId).toList();
+    }
+
+    private static List<Integer> stepNumbers(int recipeId) {
+        List<Integer> steps = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                 "SELECT step_number FROM instruction WHERE recipe_id = ? ORDER BY step_number")) {
+            ps.setInt(1, recipeId);
+            try (var rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    steps.add(rs.getInt(1));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        return steps;
+    }
+
+    private static void execute(String sql, int id) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 1; i <= ps.getParameterMetaData().getParameterCount(); i++) {
+                ps.setInt(i, id);
+            }
+            ps.executeUpdate();
+        }
+    }
+}
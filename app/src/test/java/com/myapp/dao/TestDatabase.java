@@ -0,0 +1,58 @@
+package com.myapp.dao;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import com.myapp.config.DatabaseConfig;
+
+/**
+ * In-memory H2 database (MySQL mode) behind {@link DatabaseConfig}. Surefire
+ * sets the db.* properties; the defaults here cover runs from an IDE.
+ */
+public final class TestDatabase {
+
+    public static final String URL =
+        "jdbc:h2:mem:recipes_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    static {
+        // Must happen before DatabaseConfig is initialised
+        if (System.getProperty("db.url") == null) {
+            System.setProperty("db.url", URL);
+            System.setProperty("db.user", "sa");
+            System.setProperty("db.password", "");
+        }
+    }
+
+    private TestDatabase() {
+    }
+
+    /** Drops and recreates every table. */
+    public static void reset() {
+        // Pooled connections cache statements prepared against the tables about to be dropped
+        DatabaseConfig.shutdown();
+        try (Connection conn = DriverManager.getConnection(System.getProperty("db.url"), "sa", "")) {
+            String script;
+            try (InputStream in = TestDatabase.class.getResourceAsStream("/schema-h2.sql")) {
+                if (in == null) {
+                    throw new IOException("schema-h2.sql not found on the classpath");
+                }
+                script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            try (Statement st = conn.createStatement()) {
+                for (String sql : script.split(";")) {
+                    String trimmed = sql.replaceAll("(?m)^--.*$", "").trim();
+                    if (!trimmed.isEmpty()) {
+                        st.execute(trimmed);
+                    }
+                }
+            }
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException("Failed to prepare test database", e);
+        }
+    }
+}
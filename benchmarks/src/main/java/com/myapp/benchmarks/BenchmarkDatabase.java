@@ -0,0 +1,71 @@
+package com.myapp.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import com.myapp.config.DatabaseConfig;
+
+/**
+ * In-memory H2 database (MySQL mode) that {@link DatabaseConfig} is pointed
+ * at, so the real DAO and service code runs without a MySQL server.
+ */
+public final class BenchmarkDatabase {
+
+    public static final String URL =
+        "jdbc:h2:mem:recipes_bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    public static final long SEED = 42;
+
+    static {
+        // Must happen before DatabaseConfig is initialised
+        System.setProperty("db.url", URL);
+        System.setProperty("db.user", "sa");
+        System.setProperty("db.password", "");
+    }
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Recreates the schema and seeds {@code users} users and {@code recipes}
+     * recipes with {@link CatalogueGenerator}.
+     *
+     * @return the ids of the seeded users
+     */
+    public static synchronized int[] seed(int recipes, int users) {
+        // Pooled connections cache statements prepared against the tables about to be dropped
+        DatabaseConfig.shutdown();
+        try (Connection conn = DriverManager.getConnection(URL, "sa", "")) {
+            createSchema(conn);
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException("Failed to prepare benchmark database", e);
+        }
+        return CatalogueGenerator.populate(recipes, users, SyntheticCatalogue.Shape.defaults(), SEED, false);
+    }
+
+    public static void shutdown() {
+        DatabaseConfig.shutdown();
+    }
+
+    private static void createSchema(Connection conn) throws SQLException, IOException {
+        String script;
+        try (InputStream in = BenchmarkDatabase.class.getResourceAsStream("/schema-h2.sql")) {
+            if (in == null) {
+                throw new IOException("schema-h2.sql not found on the classpath");
+            }
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Statement st = conn.createStatement()) {
+            for (String sql : script.split(";")) {
+                String trimmed = sql.replaceAll("(?m)^--.*$", "").trim();
+                if (!trimmed.isEmpty()) {
+                    st.execute(trimmed);
+                }
+            }
+        }
+    }
+}
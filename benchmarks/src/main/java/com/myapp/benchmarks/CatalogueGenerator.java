@@ -0,0 +1,116 @@
+package com.myapp.benchmarks;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.mindrot.jbcrypt.BCrypt;
+
+import com.myapp.config.DatabaseConfig;
+import com.myapp.dao.RecipeDao;
+import com.myapp.dao.RecipeDaoImpl;
+import com.myapp.services.BCryptCostCalibrator;
+
+/**
+ * Fills the schema from setup_tables.sql with synthetic users and recipes.
+ * Writes go through {@link DatabaseConfig}, so pass {@code -Ddb.url=...} to
+ * target a database other than the local default.
+ *
+ * <pre>
+ * java -cp benchmarks.jar com.myapp.benchmarks.CatalogueGenerator \
+ *      --recipes=100000 --users=5000 --ingredients=20 --steps=15
+ * </pre>
+ *
+ * Users are {@code user<i>-<seed>@loadtest.example} with password
+ * {@value #PASSWORD}.
+ */
+public class CatalogueGenerator {
+
+    public static final String PASSWORD = "loadtest";
+
+    private static final int USER_BATCH_SIZE = 1000;
+    private static final int RECIPE_BATCH_SIZE = 500;
+
+    public static void main(String[] argv) {
+        Args args = new Args(argv);
+        long seed = args.getInt("seed", 42);
+        SyntheticCatalogue.Shape defaults = SyntheticCatalogue.Shape.defaults();
+        SyntheticCatalogue.Shape shape = new SyntheticCatalogue.Shape(
+            args.getInt("ingredients", defaults.ingredientsPerRecipe()),
+            args.getInt("steps", defaults.stepsPerRecipe()),
+            args.getDouble("public-ratio", defaults.publicRatio()),
+            args.getDouble("owner-skew", defaults.ownerSkew()),
+            args.getDouble("category-skew", defaults.categorySkew()));
+        try {
+            populate(args.getInt("recipes", 10_000), args.getInt("users", 100), shape, seed, true);
+        } finally {
+            DatabaseConfig.shutdown();
+        }
+    }
+
+    /**
+     * Inserts {@code users} users, then {@code recipes} recipes in batches.
+     *
+     * @return the ids of the inserted users, in email order
+     */
+    public static int[] populate(int recipes, int users, SyntheticCatalogue.Shape shape, long seed, boolean verbose) {
+        long start = System.nanoTime();
+        int[] userIds = insertUsers(users, seed);
+        SyntheticCatalogue catalogue = new SyntheticCatalogue(seed, shape, userIds);
+        RecipeDao dao = new RecipeDaoImpl();
+        for (int from = 0; from < recipes; from += RECIPE_BATCH_SIZE) {
+            int count = Math.min(RECIPE_BATCH_SIZE, recipes - from);
+            dao.insertBatch(catalogue.recipes(from, count));
+            if (verbose && (from / RECIPE_BATCH_SIZE) % 20 == 19) {
+                System.out.printf("  %,d / %,d recipes%n", from + count, recipes);
+            }
+        }
+        if (verbose) {
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Generated %,d users and %,d recipes in %.1f s (%.0f recipes/s)%n",
+                users, recipes, seconds, recipes / seconds);
+        }
+        return userIds;
+    }
+
+    public static String email(int userIndex, long seed) {
+        return "user" + userIndex + "-" + seed + "@loadtest.example";
+    }
+
+    private static int[] insertUsers(int users, long seed) {
+        // One hash for everyone: hashing thousands of passwords would dominate the run
+        String hash = BCrypt.hashpw(PASSWORD, BCrypt.gensalt(BCryptCostCalibrator.targetCost()));
+        int[] ids = new int[users];
+        String sql = "INSERT INTO users (name, email, password) VALUES (?, ?, ?)";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            int next = 0;
+            for (int from = 0; from < users; from += USER_BATCH_SIZE) {
+                int to = Math.min(from + USER_BATCH_SIZE, users);
+                for (int i = from; i < to; i++) {
+                    ps.setString(1, "Load Test User " + i);
+                    ps.setString(2, email(i, seed));
+                    ps.setString(3, hash);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next() && next < users) {
+                        ids[next++] = keys.getInt(1);
+                    }
+                }
+            }
+            if (next != users) {
+                throw new IllegalStateException("Expected " + users + " generated user ids, got " + next);
+            }
+            return ids;
+        } catch (SQLException e) {
+            if ("23000".equals(e.getSQLState())) {
+                throw new IllegalArgumentException("Users for seed " + seed + " already exist; pass another --seed", e);
+            }
+            throw new RuntimeException("Failed to insert users", e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.myapp.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.myapp.models.Recipe;
+import com.myapp.services.RecipeServiceImpl;
+
+/**
+ * {@link RecipeServiceImpl#dedupeById}, which runs on every list the service
+ * returns.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DedupeBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    // Percentage of entries repeating an earlier id
+    @Param({"0", "5"})
+    public int duplicatePercent;
+
+    private List<Recipe> recipes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        recipes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Recipe recipe = new Recipe();
+            boolean duplicate = i > 0 && random.nextInt(100) < duplicatePercent;
+            recipe.setId(duplicate ? 1 + random.nextInt(i) : i + 1);
+            recipe.setTitle("Recipe " + i);
+            recipes.add(recipe);
+        }
+        Collections.shuffle(recipes, random);
+    }
+
+    @Benchmark
+    public List<Recipe> dedupeById() {
+        return RecipeServiceImpl.dedupeById(recipes);
+    }
+}
@@ -0,0 +1,41 @@
+package com.myapp.benchmarks;
+
+import java.util.List;
+
+import com.myapp.models.Recipe;
+import com.myapp.services.CompactRecipeStore;
+
+/**
+ * Prints the estimated heap footprint of a synthetic catalogue held as
+ * {@link Recipe} objects versus a {@link CompactRecipeStore}. No database is
+ * needed.
+ *
+ * <pre>
+ * java -cp benchmarks.jar com.myapp.benchmarks.FootprintReport --recipes=100000 --ingredients=20 --steps=15
+ * </pre>
+ */
+public class FootprintReport {
+
+    public static void main(String[] argv) {
+        Args args = new Args(argv);
+        int recipes = args.getInt("recipes", 100_000);
+        int users = args.getInt("users", 5000);
+        SyntheticCatalogue.Shape defaults = SyntheticCatalogue.Shape.defaults();
+        SyntheticCatalogue.Shape shape = new SyntheticCatalogue.Shape(
+            args.getInt("ingredients", defaults.ingredientsPerRecipe()),
+            args.getInt("steps", defaults.stepsPerRecipe()),
+            defaults.publicRatio(), defaults.ownerSkew(), defaults.categorySkew());
+
+        int[] owners = new int[users];
+        for (int i = 0; i < users; i++) {
+            owners[i] = i + 1;
+        }
+        List<Recipe> model = new SyntheticCatalogue(args.getInt("seed", 42), shape, owners).recipes(0, recipes);
+        for (int i = 0; i < model.size(); i++) {
+            model.get(i).setId(i + 1);
+        }
+
+        CompactRecipeStore store = CompactRecipeStore.of(model);
+        System.out.println(store.footprint(model));
+    }
+}
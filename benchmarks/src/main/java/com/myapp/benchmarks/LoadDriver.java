@@ -0,0 +1,275 @@
+package com.myapp.benchmarks;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.myapp.config.DatabaseConfig;
+import com.myapp.metrics.LatencyHistogram;
+import com.myapp.metrics.Metrics;
+import com.myapp.models.Recipe;
+import com.myapp.models.User;
+import com.myapp.services.AuthService;
+import com.myapp.services.AuthServiceImpl;
+import com.myapp.services.RecipeService;
+import com.myapp.services.RecipeServiceImpl;
+import com.myapp.services.SessionManager;
+
+/**
+ * Headless load driver: worker threads replay a weighted mix of service
+ * calls for a fixed duration and report throughput and latency percentiles
+ * per operation.
+ *
+ * <pre>
+ * # self-contained, against an in-memory H2 catalogue
+ * java -cp benchmarks.jar com.myapp.benchmarks.LoadDriver --embedded --recipes=20000 --users=500
+ *
+ * # against a database filled by CatalogueGenerator with the same --seed and --users
+ * java -Ddb.url=jdbc:mysql://... -cp benchmarks.jar com.myapp.benchmarks.LoadDriver --users=5000 \
+ *      --threads=16 --duration=120 --mix=list:30,search:50,save:10,delete:5,login:5
+ * </pre>
+ *
+ * The application keeps one session per JVM, so every call runs as the
+ * first generated user; login operations exercise the auth path (and its
+ * throttle) for random users without replacing that session.
+ */
+public class LoadDriver {
+
+    enum Operation { LIST, SEARCH, SAVE, DELETE, LOGIN }
+
+    private static final String DEFAULT_MIX = "list:30,search:50,save:10,delete:5,login:5";
+
+    private final RecipeService recipeService = new RecipeServiceImpl();
+    private final AuthService authService = new AuthServiceImpl();
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final ConcurrentLinkedDeque<Integer> createdIds = new ConcurrentLinkedDeque<>();
+    private final Operation[] ops;
+    private final int[] cumulativeWeights;
+    private final int users;
+    private final long seed;
+    private volatile boolean recording;
+
+    LoadDriver(Map<Operation, Integer> mix, int users, long seed) {
+        this.users = users;
+        this.seed = seed;
+        this.ops = mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[ops.length];
+        int sum = 0;
+        for (int i = 0; i < ops.length; i++) {
+            sum += mix.get(ops[i]);
+            cumulativeWeights[i] = sum;
+        }
+        for (Operation op : Operation.values()) {
+            stats.put(op, new OperationStats());
+        }
+    }
+
+    public static void main(String[] argv) throws InterruptedException {
+        Args args = new Args(argv);
+        int users = args.getInt("users", 100);
+        int threads = args.getInt("threads", 8);
+        int duration = args.getInt("duration", 60);
+        int warmup = args.getInt("warmup", 10);
+        long seed = args.getInt("seed", (int) BenchmarkDatabase.SEED);
+
+        if (args.has("embedded")) {
+            int recipes = args.getInt("recipes", 10_000);
+            System.out.printf("Seeding in-memory catalogue: %,d recipes, %,d users%n", recipes, users);
+            BenchmarkDatabase.seed(recipes, users);
+            seed = BenchmarkDatabase.SEED;
+        }
+
+        LoadDriver driver = new LoadDriver(parseMix(args.get("mix", DEFAULT_MIX)), users, seed);
+        try {
+            driver.logIn();
+            driver.run(threads, warmup, duration);
+        } finally {
+            SessionManager.logout();
+            DatabaseConfig.shutdown();
+        }
+    }
+
+    private void logIn() {
+        User user = authService.login(CatalogueGenerator.email(0, seed), CatalogueGenerator.PASSWORD);
+        if (user == null) {
+            throw new IllegalStateException("Cannot log in as " + CatalogueGenerator.email(0, seed)
+                + "; generate the catalogue with the same --seed first");
+        }
+        SessionManager.setCurrentUser(user);
+    }
+
+    void run(int threads, int warmupSeconds, int durationSeconds) throws InterruptedException {
+        System.out.printf("Running %d threads: %d s warm-up, %d s measured%n", threads, warmupSeconds, durationSeconds);
+        long measureStart = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureStart + TimeUnit.SECONDS.toNanos(durationSeconds);
+        ExecutorService workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "load-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < threads; i++) {
+            long workerSeed = seed * 31 + i;
+            workers.execute(() -> work(workerSeed, end));
+        }
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, measureStart - System.nanoTime()));
+        recording = true;
+        workers.shutdown();
+        workers.awaitTermination(durationSeconds + 60L, TimeUnit.SECONDS);
+        recording = false;
+        report(durationSeconds);
+        removeCreated();
+    }
+
+    private void work(long workerSeed, long end) {
+        int[] ownerIds = {SessionManager.getCurrentUser().getId()};
+        SyntheticCatalogue catalogue = new SyntheticCatalogue(workerSeed, SyntheticCatalogue.Shape.defaults(), ownerIds);
+        Random random = new Random(workerSeed);
+        int n = 0;
+        while (System.nanoTime() < end) {
+            Operation op = pick(random);
+            long start = System.nanoTime();
+            try {
+                if (!execute(op, catalogue, random, n++)) {
+                    continue;
+                }
+                record(op, start, Outcome.OK);
+            } catch (IllegalStateException e) {
+                // Throttle or executor rejection: deliberate back-pressure, not a failure
+                record(op, start, Outcome.REJECTED);
+            } catch (RuntimeException e) {
+                record(op, start, Outcome.ERROR);
+            }
+        }
+    }
+
+    /** Returns false when the operation had nothing to do and should not be counted. */
+    private boolean execute(Operation op, SyntheticCatalogue catalogue, Random random, int n) {
+        switch (op) {
+            case LIST:
+                recipeService.getAllRecipes();
+                return true;
+            case SEARCH:
+                recipeService.searchRecipes(catalogue.searchTerm());
+                return true;
+            case SAVE:
+                Recipe recipe = catalogue.recipe(n);
+                recipe.setTitle("Load " + recipe.getTitle());
+                createdIds.add(recipeService.saveRecipe(recipe).getId());
+                return true;
+            case DELETE:
+                Integer id = createdIds.pollFirst();
+                if (id == null) {
+                    return false;
+                }
+                recipeService.deleteRecipe(id);
+                return true;
+            case LOGIN:
+                String email = CatalogueGenerator.email(random.nextInt(users), seed);
+                if (authService.login(email, CatalogueGenerator.PASSWORD) == null) {
+                    throw new IllegalArgumentException("Login failed for " + email);
+                }
+                return true;
+            default:
+                throw new IllegalArgumentException("Unknown operation " + op);
+        }
+    }
+
+    private Operation pick(Random random) {
+        int r = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < ops.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return ops[i];
+            }
+        }
+        return ops[ops.length - 1];
+    }
+
+    private void record(Operation op, long start, Outcome outcome) {
+        if (!recording) {
+            return;
+        }
+        OperationStats s = stats.get(op);
+        s.latency.recordNanos(System.nanoTime() - start);
+        switch (outcome) {
+            case OK -> s.ok.incrementAndGet();
+            case REJECTED -> s.rejected.incrementAndGet();
+            case ERROR -> s.errors.incrementAndGet();
+        }
+    }
+
+    private void report(int durationSeconds) {
+        System.out.println();
+        System.out.printf("%-8s %10s %10s %9s %9s %9s %9s %9s %8s %8s%n",
+            "op", "count", "ops/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms", "errors", "rejected");
+        long total = 0;
+        for (Operation op : ops) {
+            OperationStats s = stats.get(op);
+            long count = s.latency.count();
+            total += count;
+            System.out.printf(Locale.ROOT, "%-8s %10d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %8d %8d%n",
+                op.name().toLowerCase(Locale.ROOT), count, count / (double) durationSeconds,
+                millis(s, 50), millis(s, 95), millis(s, 99), millis(s, 99.9), millis(s, 100),
+                s.errors.get(), s.rejected.get());
+        }
+        System.out.printf(Locale.ROOT, "total    %10d %10.1f%n", total, total / (double) durationSeconds);
+        System.out.println("Pool: " + DatabaseConfig.getPoolStats());
+        System.out.println("Cache: " + RecipeServiceImpl.getCacheStats());
+        System.out.println("Login: " + AuthServiceImpl.getLoginStats());
+        System.out.println(Metrics.snapshot());
+    }
+
+    private static double millis(OperationStats s, double percentile) {
+        return s.latency.percentileMicros(percentile) / 1000.0;
+    }
+
+    // Leave the catalogue as we found it
+    private void removeCreated() {
+        Integer id;
+        while ((id = createdIds.pollFirst()) != null) {
+            try {
+                recipeService.deleteRecipe(id);
+            } catch (RuntimeException e) {
+                System.err.println("Failed to remove load-test recipe " + id + ": " + e.getMessage());
+            }
+        }
+    }
+
+    static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + part + "', expected op:weight");
+            }
+            Operation op;
+            try {
+                op = Operation.valueOf(kv[0].trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown operation '" + kv[0] + "' in mix");
+            }
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) {
+                mix.put(op, weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("The mix needs at least one operation with a positive weight");
+        }
+        return mix;
+    }
+
+    private enum Outcome { OK, REJECTED, ERROR }
+
+    private static final class OperationStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong ok = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+    }
+}
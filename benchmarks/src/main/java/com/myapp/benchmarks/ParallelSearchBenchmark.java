@@ -0,0 +1,88 @@
+package com.myapp.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.myapp.models.Recipe;
+import com.myapp.models.SearchKey;
+import com.myapp.services.RecipeServiceImpl;
+import com.myapp.services.ParallelRecipeFilter;
+
+/**
+ * The PARALLEL_SCAN filter at several pool sizes, against the sequential
+ * scan it replaces. Speedup is {@link #parallel} at a given
+ * {@code parallelism} over {@link #sequential}; parallelism values above the
+ * machine's core count only add overhead.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ParallelSearchBenchmark {
+
+    @Param({"10000", "100000"})
+    public int recipes;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    @Param({"2048"})
+    public int sequentialThreshold;
+
+    // Few matches and many matches
+    @Param({"spicy curry", "tomato"})
+    public String query;
+
+    private List<Recipe> catalogue;
+    private String normalizedQuery;
+    private boolean shortQuery;
+    private ForkJoinPool pool;
+    private ParallelRecipeFilter filter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalogue = new SyntheticCatalogue(42, SyntheticCatalogue.Shape.defaults(), new int[] {1}).recipes(0, recipes);
+        normalizedQuery = SearchKey.normalize(query).trim();
+        shortQuery = normalizedQuery.length() <= 2;
+        for (Recipe recipe : catalogue) {
+            recipe.getSearchKey();
+        }
+        pool = new ForkJoinPool(parallelism);
+        filter = new ParallelRecipeFilter(pool, sequentialThreshold);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<Recipe> parallel() {
+        return filter.filter(catalogue, recipe -> RecipeServiceImpl.scanMatches(recipe, normalizedQuery, shortQuery));
+    }
+
+    // Independent of parallelism; one result per run is enough to compare against
+    @Benchmark
+    public List<Recipe> sequential() {
+        return catalogue.stream()
+            .filter(recipe -> RecipeServiceImpl.scanMatches(recipe, normalizedQuery, shortQuery))
+            .toList();
+    }
+}
@@ -0,0 +1,72 @@
+package com.myapp.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.myapp.dao.RecipeDao;
+import com.myapp.dao.RecipeDaoImpl;
+import com.myapp.dao.RecipeSort;
+import com.myapp.models.Recipe;
+
+/**
+ * Read paths of {@link RecipeDaoImpl}. The summary query maps rows without
+ * loading children, so it isolates the cost of mapRowToRecipe. Statements
+ * per call are reported by {@link RoundTripReport}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RecipeDaoBenchmark {
+
+    @Param({"1000", "10000"})
+    public int recipes;
+
+    @Param({"50"})
+    public int users;
+
+    private RecipeDao dao;
+    private final Integer userId = 1;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkDatabase.seed(recipes, users);
+        dao = new RecipeDaoImpl();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.shutdown();
+    }
+
+    @Benchmark
+    public List<Recipe> findAllVisibleForUser() {
+        return dao.findAllVisibleForUser(userId);
+    }
+
+    @Benchmark
+    public List<Recipe> findSummariesVisibleForUser() {
+        return dao.findSummariesVisibleForUser(userId);
+    }
+
+    @Benchmark
+    public List<Recipe> findFirstSummaryPage() {
+        return dao.findSummaryPage(userId, RecipeSort.TITLE, false, null, 100);
+    }
+}
@@ -0,0 +1,73 @@
+package com.myapp.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.myapp.models.Recipe;
+import com.myapp.models.User;
+import com.myapp.services.RecipeServiceImpl;
+import com.myapp.services.SearchMode;
+import com.myapp.services.SessionManager;
+
+/**
+ * {@link RecipeServiceImpl#searchRecipes} over a warm catalogue. DATABASE mode
+ * is left out: it relies on MySQL FULLTEXT indexes that H2 does not have.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RecipeSearchBenchmark {
+
+    // Index vs scan at 1k, 10k and 100k recipes; seeding the largest size takes a while
+    @Param({"1000", "10000", "100000"})
+    public int recipes;
+
+    @Param({"SCAN", "INDEX"})
+    public SearchMode mode;
+
+    // Short title-only query, single word, two words
+    @Param({"pa", "tomato", "spicy curry"})
+    public String query;
+
+    private RecipeServiceImpl service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkDatabase.seed(recipes, 50);
+        User user = new User("User 1", "user1@example.com", "");
+        user.setId(1);
+        SessionManager.setCurrentUser(user);
+        service = new RecipeServiceImpl();
+        service.setSearchMode(mode);
+        // Fill the catalogue cache (and the index in INDEX mode) outside the measurement
+        service.searchRecipes(query);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SessionManager.logout();
+        BenchmarkDatabase.shutdown();
+    }
+
+    @Benchmark
+    public List<Recipe> searchRecipes() {
+        return service.searchRecipes(query);
+    }
+}
@@ -0,0 +1,158 @@
+package com.myapp.benchmarks;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.myapp.models.Recipe;
+
+/**
+ * Row mapping of a recipe result set, before and after column positions were
+ * resolved once per result set. {@code perRowMetadata} mirrors the old
+ * mapRowToRecipe: getters by label plus a metadata scan per optional column
+ * on every row. {@code cachedIndexes} mirrors the current RecipeColumns path.
+ * The query runs once per trial into a scrollable result set, so only the
+ * mapping is measured.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ResultSetMappingBenchmark {
+
+    @Param({"1000", "10000"})
+    public int recipes;
+
+    private Connection conn;
+    private Statement statement;
+    private ResultSet rs;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.seed(recipes, 50);
+        conn = DriverManager.getConnection(BenchmarkDatabase.URL, "sa", "");
+        statement = conn.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        rs = statement.executeQuery(
+            "SELECT id, title, description, preparation_time, cooking_time, servings, difficulty, category, "
+            + "owner_user_id, visibility FROM recipe ORDER BY id");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        rs.close();
+        statement.close();
+        conn.close();
+        BenchmarkDatabase.shutdown();
+    }
+
+    @Benchmark
+    public List<Recipe> perRowMetadata() throws SQLException {
+        rs.beforeFirst();
+        List<Recipe> out = new ArrayList<>(recipes);
+        while (rs.next()) {
+            Recipe recipe = new Recipe();
+            recipe.setId(rs.getInt("id"));
+            recipe.setTitle(rs.getString("title"));
+            recipe.setDescription(rs.getString("description"));
+            recipe.setPreparationTime(rs.getInt("preparation_time"));
+            recipe.setCookingTime(rs.getInt("cooking_time"));
+            recipe.setServings(rs.getInt("servings"));
+            recipe.setDifficulty(rs.getString("difficulty"));
+            recipe.setCategory(rs.getString("category"));
+            if (hasColumn(rs, "owner_user_id")) {
+                int ownerId = rs.getInt("owner_user_id");
+                if (!rs.wasNull()) {
+                    recipe.setOwnerUserId(ownerId);
+                }
+            }
+            if (hasColumn(rs, "visibility")) {
+                recipe.setVisibility(rs.getString("visibility"));
+            }
+            out.add(recipe);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public List<Recipe> cachedIndexes() throws SQLException {
+        rs.beforeFirst();
+        ResultSetMetaData md = rs.getMetaData();
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = md.getColumnCount(); i >= 1; i--) {
+            positions.put(md.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+        }
+        int id = positions.getOrDefault("id", 0);
+        int title = positions.getOrDefault("title", 0);
+        int description = positions.getOrDefault("description", 0);
+        int preparationTime = positions.getOrDefault("preparation_time", 0);
+        int cookingTime = positions.getOrDefault("cooking_time", 0);
+        int servings = positions.getOrDefault("servings", 0);
+        int difficulty = positions.getOrDefault("difficulty", 0);
+        int category = positions.getOrDefault("category", 0);
+        int ownerUserId = positions.getOrDefault("owner_user_id", 0);
+        int visibility = positions.getOrDefault("visibility", 0);
+
+        List<Recipe> out = new ArrayList<>(recipes);
+        while (rs.next()) {
+            Recipe recipe = new Recipe();
+            recipe.setId(rs.getInt(id));
+            recipe.setTitle(rs.getString(title));
+            if (description > 0) {
+                recipe.setDescription(rs.getString(description));
+            }
+            recipe.setPreparationTime(rs.getInt(preparationTime));
+            recipe.setCookingTime(rs.getInt(cookingTime));
+            recipe.setServings(rs.getInt(servings));
+            recipe.setDifficulty(rs.getString(difficulty));
+            recipe.setCategory(rs.getString(category));
+            if (ownerUserId > 0) {
+                int ownerId = rs.getInt(ownerUserId);
+                if (!rs.wasNull()) {
+                    recipe.setOwnerUserId(ownerId);
+                }
+            }
+            if (visibility > 0) {
+                recipe.setVisibility(rs.getString(visibility));
+            }
+            out.add(recipe);
+        }
+        return out;
+    }
+
+    // The lookup the DAO used to run for every row
+    private static boolean hasColumn(ResultSet rs, String columnName) throws SQLException {
+        ResultSetMetaData md = rs.getMetaData();
+        int columns = md.getColumnCount();
+        for (int i = 1; i <= columns; i++) {
+            if (columnName.equalsIgnoreCase(md.getColumnLabel(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
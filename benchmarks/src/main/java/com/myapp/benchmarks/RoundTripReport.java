@@ -0,0 +1,58 @@
+package com.myapp.benchmarks;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.myapp.dao.RecipeDao;
+import com.myapp.dao.RecipeDaoImpl;
+import com.myapp.dao.RecipeSort;
+import com.myapp.metrics.Counter;
+import com.myapp.metrics.Metrics;
+import com.myapp.models.Recipe;
+
+/**
+ * Prints the statements executed per call of the {@link RecipeDaoImpl} read
+ * paths at several catalogue sizes, counted by the pool's {@code db.queries}
+ * counter on the in-memory H2 database. Children are loaded with
+ * {@code recipe_id IN (...)} batches of 500 ids, so a full load costs one
+ * recipe query plus two child queries per 500 recipes: round trips grow with
+ * N/500 rather than with N.
+ *
+ * <pre>
+ * java -cp benchmarks.jar com.myapp.benchmarks.RoundTripReport --sizes=1000,10000,100000
+ * </pre>
+ */
+public class RoundTripReport {
+
+    private static final Counter QUERIES = Metrics.counter("db.queries");
+
+    public static void main(String[] argv) {
+        Args args = new Args(argv);
+        int users = args.getInt("users", 50);
+        String[] sizes = args.get("sizes", "1000,10000,100000").split(",");
+
+        System.out.printf("%-30s %10s %10s %12s%n", "call", "recipes", "rows", "statements");
+        try {
+            for (String size : sizes) {
+                int recipes = Integer.parseInt(size.trim());
+                int[] userIds = BenchmarkDatabase.seed(recipes, users);
+                Integer userId = userIds[0];
+                RecipeDao dao = new RecipeDaoImpl();
+
+                report("findAllVisibleForUser", recipes, () -> dao.findAllVisibleForUser(userId));
+                report("findSummariesVisibleForUser", recipes, () -> dao.findSummariesVisibleForUser(userId));
+                report("findSummaryPage(TITLE, 100)", recipes,
+                    () -> dao.findSummaryPage(userId, RecipeSort.TITLE, false, null, 100));
+                report("findById", recipes, () -> List.of(dao.findById(1).orElseThrow()));
+            }
+        } finally {
+            BenchmarkDatabase.shutdown();
+        }
+    }
+
+    private static void report(String call, int recipes, Supplier<List<Recipe>> body) {
+        long before = QUERIES.get();
+        int rows = body.get().size();
+        System.out.printf("%-30s %10d %10d %12d%n", call, recipes, rows, QUERIES.get() - before);
+    }
+}
@@ -0,0 +1,129 @@
+package com.myapp.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.myapp.models.Ingredient;
+import com.myapp.models.Recipe;
+import com.myapp.models.SearchKey;
+import com.myapp.services.RecipeServiceImpl;
+import com.myapp.services.RecipeSearchIndex;
+
+/**
+ * Per-recipe matching of one query against a loaded catalogue, as done by the
+ * SCAN search mode and when narrowing a previous result. Compare
+ * {@code gc.alloc.rate.norm}: matching against cached {@link SearchKey}s
+ * should allocate nothing, while {@link #lowerCaseScan} lowercases every
+ * field of every recipe. No database is involved.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SearchMatchBenchmark {
+
+    @Param({"10000"})
+    public int recipes;
+
+    // Short title-only query, single word, two words
+    @Param({"pa", "tomato", "spicy curry"})
+    public String query;
+
+    private List<Recipe> catalogue;
+    private String normalizedQuery;
+    private String[] words;
+    private boolean shortQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalogue = new SyntheticCatalogue(42, SyntheticCatalogue.Shape.defaults(), new int[] {1}).recipes(0, recipes);
+        normalizedQuery = SearchKey.normalize(query).trim();
+        words = SearchKey.words(normalizedQuery);
+        shortQuery = normalizedQuery.length() <= 2;
+        // Keys are built once per loaded recipe, outside the measurement
+        for (Recipe recipe : catalogue) {
+            recipe.getSearchKey();
+        }
+    }
+
+    @Benchmark
+    public int scan() {
+        int matches = 0;
+        for (int i = 0; i < catalogue.size(); i++) {
+            if (RecipeServiceImpl.scanMatches(catalogue.get(i), normalizedQuery, shortQuery)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int wordPrefixes() {
+        int matches = 0;
+        for (int i = 0; i < catalogue.size(); i++) {
+            if (RecipeSearchIndex.matches(catalogue.get(i), words, shortQuery)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    // The scan as it was before search keys, for reference
+    @Benchmark
+    public int lowerCaseScan() {
+        String lowerCaseQuery = query.toLowerCase().trim();
+        int matches = 0;
+        for (Recipe recipe : catalogue) {
+            boolean found = recipe.getTitle() != null && recipe.getTitle().toLowerCase().contains(lowerCaseQuery);
+            if (!found && !shortQuery && recipe.getDescription() != null) {
+                found = recipe.getDescription().toLowerCase().contains(lowerCaseQuery);
+            }
+            if (!found && !shortQuery) {
+                for (Ingredient ingredient : recipe.getIngredients()) {
+                    if (ingredient.getName() != null && ingredient.getName().toLowerCase().contains(lowerCaseQuery)) {
+                        found = true;
+                        break;
+                    }
+                }
+            }
+            if (!found && !shortQuery) {
+                for (String instruction : recipe.getInstructions()) {
+                    if (instruction != null && instruction.toLowerCase().contains(lowerCaseQuery)) {
+                        found = true;
+                        break;
+                    }
+                }
+            }
+            if (found) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    // Cost of the first search after recipes are loaded
+    @Benchmark
+    public int buildKeys() {
+        int words = 0;
+        for (Recipe recipe : catalogue) {
+            recipe.invalidateSearchKey();
+            words += recipe.getSearchKey().terms(true).size();
+        }
+        return words;
+    }
+}
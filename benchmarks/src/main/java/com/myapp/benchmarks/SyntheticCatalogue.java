@@ -0,0 +1,155 @@
+package com.myapp.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.myapp.models.Ingredient;
+import com.myapp.models.Recipe;
+
+/**
+ * Deterministic recipe generator: the same seed and shape always yield the
+ * same catalogue, so runs stay comparable. Categories, title words and owners
+ * follow Zipf distributions, so a few categories and a few prolific authors
+ * dominate as in real catalogues.
+ */
+public class SyntheticCatalogue {
+
+    static final String[] CATEGORIES = {
+        "Dinner", "Dessert", "Lunch", "Breakfast", "Salad", "Soup", "Snack", "Drink",
+        "Baking", "Vegetarian", "Vegan", "Seafood", "Grill", "Sauce", "Bread", "Preserves"
+    };
+    static final String[] DIFFICULTIES = {"Easy", "Medium", "Hard"};
+    static final String[] UNITS = {"g", "kg", "ml", "l", "tsp", "tbsp", "cup", "piece"};
+    static final String[] ADJECTIVES = {
+        "Spicy", "Creamy", "Rustic", "Roasted", "Grilled", "Classic", "Quick", "Smoky", "Fresh", "Golden"
+    };
+    static final String[] DISHES = {
+        "Pasta", "Pizza", "Curry", "Stew", "Tart", "Risotto", "Omelette", "Salad", "Soup", "Pancakes",
+        "Tacos", "Burger", "Lasagna", "Pie", "Noodles", "Gratin"
+    };
+    static final String[] INGREDIENTS = {
+        "salt", "onion", "garlic", "olive oil", "butter", "pepper", "egg", "flour", "tomato", "sugar",
+        "milk", "cheese", "chicken", "lemon", "rice", "potato", "carrot", "cream", "basil", "beef",
+        "mushroom", "spinach", "ginger", "cumin", "paprika", "thyme", "honey", "yogurt", "lentils", "chickpeas",
+        "saffron", "fennel", "tamarind", "quinoa", "leek", "sesame", "coconut", "anchovy", "miso", "sumac"
+    };
+    static final String[] VERBS = {"Chop", "Stir", "Whisk", "Simmer", "Bake", "Fry", "Season", "Mix", "Boil", "Serve"};
+
+    /**
+     * Shape of the generated data. Ingredient and step counts are uniform
+     * around their mean (half to one and a half times it).
+     */
+    public record Shape(int ingredientsPerRecipe, int stepsPerRecipe, double publicRatio,
+                        double ownerSkew, double categorySkew) {
+
+        public static Shape defaults() {
+            return new Shape(10, 7, 0.7, 1.1, 1.0);
+        }
+    }
+
+    private final Random random;
+    private final Shape shape;
+    private final int[] ownerIds;
+    private final Zipf owners;
+    private final Zipf categories;
+    private final Zipf ingredients;
+
+    /**
+     * @param ownerIds ids of existing users; the first ones own the most recipes
+     */
+    public SyntheticCatalogue(long seed, Shape shape, int[] ownerIds) {
+        if (ownerIds.length == 0) {
+            throw new IllegalArgumentException("At least one owner is required");
+        }
+        this.random = new Random(seed);
+        this.shape = shape;
+        this.ownerIds = ownerIds.clone();
+        this.owners = new Zipf(ownerIds.length, shape.ownerSkew());
+        this.categories = new Zipf(CATEGORIES.length, shape.categorySkew());
+        this.ingredients = new Zipf(INGREDIENTS.length, 0.8);
+    }
+
+    public List<Recipe> recipes(int from, int count) {
+        List<Recipe> recipes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            recipes.add(recipe(from + i));
+        }
+        return recipes;
+    }
+
+    /** Generates recipe number {@code n}, without an id. */
+    public Recipe recipe(int n) {
+        Recipe recipe = new Recipe();
+        recipe.setTitle(pick(ADJECTIVES) + " " + ingredient() + " " + pick(DISHES) + " #" + n);
+        recipe.setDescription("A " + pick(DIFFICULTIES).toLowerCase() + " dish with " + ingredient()
+            + " and " + ingredient() + ".");
+        recipe.setPreparationTime(5 + random.nextInt(55));
+        recipe.setCookingTime(random.nextInt(120));
+        recipe.setServings(1 + random.nextInt(8));
+        recipe.setDifficulty(pick(DIFFICULTIES));
+        recipe.setCategory(CATEGORIES[categories.sample(random)]);
+        recipe.setOwnerUserId(ownerIds[owners.sample(random)]);
+        recipe.setVisibility(random.nextDouble() < shape.publicRatio() ? "PUBLIC" : "PRIVATE");
+
+        int ingredientCount = around(shape.ingredientsPerRecipe());
+        for (int i = 0; i < ingredientCount; i++) {
+            recipe.addIngredient(new Ingredient(ingredient(), 1 + random.nextInt(500) / 4.0, pick(UNITS)));
+        }
+        int steps = around(shape.stepsPerRecipe());
+        for (int i = 0; i < steps; i++) {
+            recipe.addInstruction(pick(VERBS) + " the " + ingredient() + " for " + (1 + random.nextInt(20))
+                + " minutes.");
+        }
+        return recipe;
+    }
+
+    /** A word likely to appear in titles, for search queries. */
+    public String searchTerm() {
+        return random.nextBoolean() ? ingredient() : pick(DISHES).toLowerCase();
+    }
+
+    private String ingredient() {
+        return INGREDIENTS[ingredients.sample(random)];
+    }
+
+    private int around(int mean) {
+        return Math.max(1, mean / 2 + random.nextInt(mean + 1));
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /** Zipf(s) over ranks 0..n-1 by inverse CDF lookup. */
+    static final class Zipf {
+        private final double[] cumulative;
+
+        Zipf(int n, double s) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += 1 / Math.pow(i + 1, s);
+                cumulative[i] = sum;
+            }
+            for (int i = 0; i < n; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+
+        int sample(Random random) {
+            double u = random.nextDouble();
+            int lo = 0;
+            int hi = cumulative.length - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (cumulative[mid] < u) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
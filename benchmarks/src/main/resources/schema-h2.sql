@@ -0,0 +1,47 @@
+-- setup_tables.sql for H2 in MySQL mode: same tables and keys, without the FULLTEXT indexes
+DROP ALL OBJECTS;
+
+CREATE TABLE users (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE recipe (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    preparation_time INT NOT NULL DEFAULT 0,
+    cooking_time INT NOT NULL DEFAULT 0,
+    servings INT,
+    difficulty VARCHAR(50),
+    category VARCHAR(100) NOT NULL DEFAULT '',
+    owner_user_id INT NULL,
+    visibility VARCHAR(10) NOT NULL DEFAULT 'PRIVATE',
+    CONSTRAINT fk_recipe_owner FOREIGN KEY (owner_user_id) REFERENCES users(id) ON DELETE SET NULL,
+    CONSTRAINT chk_visibility CHECK (visibility IN ('PUBLIC','PRIVATE'))
+);
+
+CREATE INDEX idx_recipe_title_id ON recipe (title, id);
+CREATE INDEX idx_recipe_category_id ON recipe (category, id);
+CREATE INDEX idx_recipe_preparation_time_id ON recipe (preparation_time, id);
+CREATE INDEX idx_recipe_cooking_time_id ON recipe (cooking_time, id);
+
+CREATE TABLE ingredient (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    recipe_id INT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    quantity DECIMAL(10,2),
+    unit VARCHAR(50),
+    notes TEXT,
+    FOREIGN KEY (recipe_id) REFERENCES recipe(id) ON DELETE CASCADE
+);
+
+CREATE TABLE instruction (
+    recipe_id INT NOT NULL,
+    step_number INT NOT NULL,
+    text TEXT NOT NULL,
+    PRIMARY KEY (recipe_id, step_number),
+    FOREIGN KEY (recipe_id) REFERENCES recipe(id) ON DELETE CASCADE
+);
@@ -0,0 +1,13 @@
+USE recipes_db;
+
+-- Full-text indexes backing RecipeDao.searchVisible.
+-- MATCH() column lists must match an index exactly, hence the separate title index.
+ALTER TABLE recipe
+    ADD FULLTEXT INDEX ft_recipe_title (title),
+    ADD FULLTEXT INDEX ft_recipe_title_description (title, description);
+
+ALTER TABLE ingredient
+    ADD FULLTEXT INDEX ft_ingredient_name (name);
+
+ALTER TABLE instruction
+    ADD FULLTEXT INDEX ft_instruction_text (text);
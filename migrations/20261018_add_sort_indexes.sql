@@ -0,0 +1,19 @@
+USE recipes_db;
+
+-- Keyset pagination (RecipeDao.findSummaryPage) orders by (column, id) on raw columns.
+-- The sort columns become NOT NULL, with the defaults the old COALESCE sort keys used,
+-- so each page is a range scan of one of these indexes instead of a filesort.
+UPDATE recipe SET category = '' WHERE category IS NULL;
+UPDATE recipe SET preparation_time = 0 WHERE preparation_time IS NULL;
+UPDATE recipe SET cooking_time = 0 WHERE cooking_time IS NULL;
+
+ALTER TABLE recipe
+    MODIFY category VARCHAR(100) NOT NULL DEFAULT '',
+    MODIFY preparation_time INT NOT NULL DEFAULT 0,
+    MODIFY cooking_time INT NOT NULL DEFAULT 0;
+
+ALTER TABLE recipe
+    ADD INDEX idx_recipe_title_id (title, id),
+    ADD INDEX idx_recipe_category_id (category, id),
+    ADD INDEX idx_recipe_preparation_time_id (preparation_time, id),
+    ADD INDEX idx_recipe_cooking_time_id (cooking_time, id);
@@ -13,15 +13,22 @@ CREATE TABLE IF NOT EXISTS recipe (
     id INT AUTO_INCREMENT PRIMARY KEY,
     title VARCHAR(255) NOT NULL,
     description TEXT,
-    preparation_time INT,
-    cooking_time INT,
+    preparation_time INT NOT NULL DEFAULT 0,
+    cooking_time INT NOT NULL DEFAULT 0,
     servings INT,
     difficulty VARCHAR(50),
-    category VARCHAR(100),
+    category VARCHAR(100) NOT NULL DEFAULT '',
     owner_user_id INT NULL,
     visibility VARCHAR(10) NOT NULL DEFAULT 'PRIVATE',
     CONSTRAINT fk_recipe_owner FOREIGN KEY (owner_user_id) REFERENCES users(id) ON DELETE SET NULL,
-    CONSTRAINT chk_visibility CHECK (visibility IN ('PUBLIC','PRIVATE'))
+    CONSTRAINT chk_visibility CHECK (visibility IN ('PUBLIC','PRIVATE')),
+    FULLTEXT INDEX ft_recipe_title (title),
+    FULLTEXT INDEX ft_recipe_title_description (title, description),
+    -- Keyset pagination sort keys
+    INDEX idx_recipe_title_id (title, id),
+    INDEX idx_recipe_category_id (category, id),
+    INDEX idx_recipe_preparation_time_id (preparation_time, id),
+    INDEX idx_recipe_cooking_time_id (cooking_time, id)
 );
 
 -- Create ingredient table
@@ -32,6 +39,7 @@ CREATE TABLE IF NOT EXISTS ingredient (
     quantity DECIMAL(10,2),
     unit VARCHAR(50),
     notes TEXT,
+    FULLTEXT INDEX ft_ingredient_name (name),
     FOREIGN KEY (recipe_id) REFERENCES recipe(id) ON DELETE CASCADE
 );
 
@@ -41,5 +49,6 @@ CREATE TABLE IF NOT EXISTS instruction (
     step_number INT NOT NULL,
     text TEXT NOT NULL,
     PRIMARY KEY (recipe_id, step_number),
+    FULLTEXT INDEX ft_instruction_text (text),
     FOREIGN KEY (recipe_id) REFERENCES recipe(id) ON DELETE CASCADE
 );